@@ -0,0 +1,45 @@
+package bap.jp.smartfashion.support.swagger;
+
+import java.util.List;
+
+/**
+ * Page of keyset pagination, documented as response of read all method with {@link PaginationMode#KEYSET}.
+ *
+ * @param <T> DTO type
+ * @author hungp
+ */
+public class CursorPageInfo<T> {
+
+    private List<T> data;
+    private int limit;
+    private String nextCursor;
+
+    public List<T> getData() {
+        return data;
+    }
+
+    public void setData(List<T> data) {
+        this.data = data;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Get cursor of next page.
+     *
+     * @return cursor to pass as cursor param of next request, null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,83 @@
+package bap.jp.smartfashion.support.swagger;
+
+import bap.jp.smartfashion.support.httpdefault.annotation.dto.CreateRequestClassDTO;
+import bap.jp.smartfashion.support.httpdefault.annotation.dto.CreateResponseClassDTO;
+import bap.jp.smartfashion.support.httpdefault.annotation.dto.ReadResponseClassDTO;
+import bap.jp.smartfashion.support.httpdefault.annotation.dto.UpdateRequestClassDTO;
+import bap.jp.smartfashion.support.httpdefault.annotation.dto.UpdateResponseClassDTO;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+/**
+ * Merged DTO annotations of an entity class.
+ * <p>
+ * Mapping is built once per entity class and stored in a {@link ClassValue}, so it is released together with
+ * the class loader of the entity. Entities without DTO annotations are cached as well.
+ *
+ * @author hungp
+ */
+public final class EntityDtoMapping {
+
+    private static final ClassValue<EntityDtoMapping> MAPPINGS = new ClassValue<EntityDtoMapping>() {
+        @Override
+        protected EntityDtoMapping computeValue(Class<?> entityClass) {
+            return new EntityDtoMapping(
+                    AnnotatedElementUtils.findMergedAnnotation(entityClass, CreateRequestClassDTO.class),
+                    AnnotatedElementUtils.findMergedAnnotation(entityClass, UpdateRequestClassDTO.class),
+                    AnnotatedElementUtils.findMergedAnnotation(entityClass, CreateResponseClassDTO.class),
+                    AnnotatedElementUtils.findMergedAnnotation(entityClass, UpdateResponseClassDTO.class),
+                    AnnotatedElementUtils.findMergedAnnotation(entityClass, ReadResponseClassDTO.class));
+        }
+    };
+
+    private final CreateRequestClassDTO createRequestClassDTO;
+    private final UpdateRequestClassDTO updateRequestClassDTO;
+    private final CreateResponseClassDTO createResponseClassDTO;
+    private final UpdateResponseClassDTO updateResponseClassDTO;
+    private final ReadResponseClassDTO readResponseClassDTO;
+
+    private EntityDtoMapping(CreateRequestClassDTO createRequestClassDTO,
+                             UpdateRequestClassDTO updateRequestClassDTO,
+                             CreateResponseClassDTO createResponseClassDTO,
+                             UpdateResponseClassDTO updateResponseClassDTO,
+                             ReadResponseClassDTO readResponseClassDTO) {
+        this.createRequestClassDTO = createRequestClassDTO;
+        this.updateRequestClassDTO = updateRequestClassDTO;
+        this.createResponseClassDTO = createResponseClassDTO;
+        this.updateResponseClassDTO = updateResponseClassDTO;
+        this.readResponseClassDTO = readResponseClassDTO;
+    }
+
+    /**
+     * Get DTO mapping of entity class.
+     *
+     * @param entityClass entity class
+     * @return DTO mapping
+     */
+    public static EntityDtoMapping of(Class<?> entityClass) {
+        return MAPPINGS.get(entityClass);
+    }
+
+    public ReadResponseClassDTO getReadResponseClassDTO() {
+        return readResponseClassDTO;
+    }
+
+    public Class<?> getCreateRequestDtoClass() {
+        return null != createRequestClassDTO ? createRequestClassDTO.value() : null;
+    }
+
+    public Class<?> getUpdateRequestDtoClass() {
+        return null != updateRequestClassDTO ? updateRequestClassDTO.value() : null;
+    }
+
+    public Class<?> getCreateResponseDtoClass() {
+        return null != createResponseClassDTO ? createResponseClassDTO.value() : null;
+    }
+
+    public Class<?> getUpdateResponseDtoClass() {
+        return null != updateResponseClassDTO ? updateResponseClassDTO.value() : null;
+    }
+
+    public Class<?> getReadResponseDtoClass() {
+        return null != readResponseClassDTO ? readResponseClassDTO.value() : null;
+    }
+}
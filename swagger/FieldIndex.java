@@ -0,0 +1,113 @@
+package bap.jp.smartfashion.support.swagger;
+
+import bap.jp.smartfashion.support.httpdefault.ConvertUtils;
+import bap.jp.smartfashion.util.ObjectUtils;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Index of fields of an entity or DTO class.
+ * <p>
+ * Fields are read once per class and PK/FK/number/sort key flags are precomputed, so checks become array lookups.
+ * Mapping from DTO field name to entity field follows {@link ConvertUtils#findFieldByMapFieldFrom(List, String)}
+ * and is resolved once per DTO field name.
+ *
+ * @author hungp
+ */
+public final class FieldIndex {
+
+    /**
+     * Slot of DTO field name which doesn't map to any field.
+     */
+    public static final int NOT_FOUND = -1;
+
+    private static final ClassValue<FieldIndex> INDEXES = new ClassValue<FieldIndex>() {
+        @Override
+        protected FieldIndex computeValue(Class<?> type) {
+            return new FieldIndex(ObjectUtils.getFields(type));
+        }
+    };
+
+    private final List<Field> fields;
+    private final boolean[] pkFields;
+    private final boolean[] fkFields;
+    private final boolean[] numberFields;
+    private final boolean[] sortKeyFields;
+    private final ConcurrentMap<String, Integer> slots = new ConcurrentHashMap<>();
+
+    private FieldIndex(List<Field> fields) {
+        this.fields = fields;
+        this.pkFields = new boolean[fields.size()];
+        this.fkFields = new boolean[fields.size()];
+        this.numberFields = new boolean[fields.size()];
+        this.sortKeyFields = new boolean[fields.size()];
+        for (int i = 0; i < fields.size(); i++) {
+            Field field = fields.get(i);
+            pkFields[i] = ConvertUtils.isPKField(field);
+            fkFields[i] = ConvertUtils.isFKField(field);
+            numberFields[i] = ConvertUtils.isNumber(field);
+            sortKeyFields[i] = pkFields[i] || field.isAnnotationPresent(SwaggerSortKey.class);
+        }
+    }
+
+    /**
+     * Get field index of class.
+     *
+     * @param type entity or DTO class
+     * @return field index
+     */
+    public static FieldIndex of(Class<?> type) {
+        return INDEXES.get(type);
+    }
+
+    /**
+     * Find slot of field which the given DTO field is mapped from.
+     *
+     * @param dtoFieldName DTO field name
+     * @return slot of field, NOT_FOUND if there is no field
+     */
+    public int slotOf(String dtoFieldName) {
+        return slots.computeIfAbsent(dtoFieldName, name -> {
+            Field field = ConvertUtils.findFieldByMapFieldFrom(fields, name);
+            for (int i = 0; i < fields.size(); i++) {
+                if (fields.get(i) == field) {
+                    return i;
+                }
+            }
+            return NOT_FOUND;
+        });
+    }
+
+    public int size() {
+        return fields.size();
+    }
+
+    public Field fieldAt(int slot) {
+        return fields.get(slot);
+    }
+
+    public boolean isPKField(int slot) {
+        return NOT_FOUND != slot && pkFields[slot];
+    }
+
+    public boolean isFKField(int slot) {
+        return NOT_FOUND != slot && fkFields[slot];
+    }
+
+    public boolean isNumber(int slot) {
+        return NOT_FOUND != slot && numberFields[slot];
+    }
+
+    /**
+     * Check field is primary key or marked with {@link SwaggerSortKey}.
+     *
+     * @param slot slot of field
+     * @return true if keyset pagination can sort by field
+     */
+    public boolean isSortKeyField(int slot) {
+        return NOT_FOUND != slot && sortKeyFields[slot];
+    }
+}
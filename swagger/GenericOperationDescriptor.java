@@ -0,0 +1,259 @@
+package bap.jp.smartfashion.support.swagger;
+
+import bap.jp.smartfashion.common.base.BaseModel;
+import bap.jp.smartfashion.common.vo.PageInfo;
+import com.google.common.collect.ImmutableList;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.web.method.HandlerMethod;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable description of a Generic Controller operation.
+ * <p>
+ * Hold everything the swagger plugins need to know about a handler method: the entity class,
+ * the kind of operation, the request DTO, the response DTO with its wrapper and pagination of read all method.
+ *
+ * @author hungp
+ */
+public final class GenericOperationDescriptor {
+
+    /**
+     * Descriptor of handler method which doesn't belong to a Generic Controller.
+     */
+    public static final GenericOperationDescriptor NONE = new GenericOperationDescriptor(null, GenericOperationKind.OTHER,
+            null, null, null, PaginationMode.OFFSET, Collections.emptyList());
+
+    private final Class<? extends BaseModel> entityClass;
+    private final GenericOperationKind kind;
+    private final Class<?> requestDtoClass;
+    private final Class<?> responseDtoClass;
+    private final Class<?> responseWrapperClass;
+    private final PaginationMode pagination;
+    private final List<String> sortKeys;
+
+    private GenericOperationDescriptor(Class<? extends BaseModel> entityClass,
+                                       GenericOperationKind kind,
+                                       Class<?> requestDtoClass,
+                                       Class<?> responseDtoClass,
+                                       Class<?> responseWrapperClass,
+                                       PaginationMode pagination,
+                                       List<String> sortKeys) {
+        this.entityClass = entityClass;
+        this.kind = kind;
+        this.requestDtoClass = requestDtoClass;
+        this.responseDtoClass = responseDtoClass;
+        this.responseWrapperClass = responseWrapperClass;
+        this.pagination = pagination;
+        this.sortKeys = sortKeys;
+    }
+
+    /**
+     * Build descriptor for handler method.
+     *
+     * @param handlerMethod handler method
+     * @return descriptor, NONE if controller doesn't have SwaggerEntity annotation
+     * @throws IllegalStateException if a sort key of keyset pagination isn't sortable
+     */
+    public static GenericOperationDescriptor of(HandlerMethod handlerMethod) {
+        GenericOperationDescriptor descriptor = GenericOperationIndex.find(handlerMethod);
+        if (null == descriptor) {
+            SwaggerEntity swaggerEntity = AnnotationUtils.findAnnotation(handlerMethod.getBeanType(), SwaggerEntity.class);
+            if (null == swaggerEntity) {
+                return NONE;
+            }
+            descriptor = of(swaggerEntity.value(), handlerMethod.getMethod());
+        }
+        descriptor.checkSortKeys(handlerMethod);
+        return descriptor;
+    }
+
+    /**
+     * Build descriptor for entity class and handler method.
+     *
+     * @param entityClass entity class
+     * @param method      handler method
+     * @return descriptor
+     */
+    public static GenericOperationDescriptor of(Class<? extends BaseModel> entityClass, Method method) {
+        GenericOperationKind kind = GenericOperationKind.of(method);
+        if (GenericOperationKind.READ_ALL == kind) {
+            SwaggerGenericReadAllMethod readAll = AnnotationUtils.findAnnotation(method, SwaggerGenericReadAllMethod.class);
+            return of(entityClass, kind, readAll.pagination(), ImmutableList.copyOf(readAll.sortKeys()));
+        }
+        return of(entityClass, kind);
+    }
+
+    /**
+     * Build descriptor for entity class and kind of operation.
+     *
+     * @param entityClass entity class
+     * @param kind        kind of operation
+     * @return descriptor
+     */
+    public static GenericOperationDescriptor of(Class<? extends BaseModel> entityClass, GenericOperationKind kind) {
+        return of(entityClass, kind, PaginationMode.OFFSET, Collections.emptyList());
+    }
+
+    /**
+     * Build descriptor for entity class, kind of operation and pagination.
+     *
+     * @param entityClass entity class
+     * @param kind        kind of operation
+     * @param pagination  pagination of read all method
+     * @param sortKeys    sort keys of keyset pagination, primary key if empty
+     * @return descriptor
+     */
+    public static GenericOperationDescriptor of(Class<? extends BaseModel> entityClass, GenericOperationKind kind,
+                                                PaginationMode pagination, List<String> sortKeys) {
+        if (null == entityClass) {
+            return NONE;
+        }
+        EntityDtoMapping mapping = EntityDtoMapping.of(entityClass);
+        Class<?> requestDtoClass = null;
+        Class<?> responseDtoClass = null;
+        switch (kind) {
+            case CREATE:
+                requestDtoClass = mapping.getCreateRequestDtoClass();
+                responseDtoClass = mapping.getCreateResponseDtoClass();
+                break;
+            case UPDATE:
+                requestDtoClass = mapping.getUpdateRequestDtoClass();
+                responseDtoClass = mapping.getUpdateResponseDtoClass();
+                break;
+            case READ:
+            case READ_ALL:
+                responseDtoClass = mapping.getReadResponseDtoClass();
+                break;
+            default:
+                break;
+        }
+        return of(entityClass, kind, requestDtoClass, responseDtoClass, pagination, sortKeys);
+    }
+
+    /**
+     * Build descriptor with DTO classes which are already known, e.g. read from compile time index.
+     *
+     * @param entityClass      entity class
+     * @param kind             kind of operation
+     * @param requestDtoClass  request DTO class
+     * @param responseDtoClass response DTO class
+     * @param pagination       pagination of read all method
+     * @param sortKeys         sort keys of keyset pagination
+     * @return descriptor
+     */
+    static GenericOperationDescriptor of(Class<? extends BaseModel> entityClass, GenericOperationKind kind,
+                                         Class<?> requestDtoClass, Class<?> responseDtoClass,
+                                         PaginationMode pagination, List<String> sortKeys) {
+        if (GenericOperationKind.READ_ALL != kind) {
+            return new GenericOperationDescriptor(entityClass, kind, requestDtoClass, responseDtoClass, null,
+                    PaginationMode.OFFSET, Collections.emptyList());
+        }
+        Class<?> responseWrapperClass = PaginationMode.KEYSET == pagination ? CursorPageInfo.class : PageInfo.class;
+        return new GenericOperationDescriptor(entityClass, kind, requestDtoClass, responseDtoClass, responseWrapperClass,
+                pagination, ImmutableList.copyOf(sortKeys));
+    }
+
+    /**
+     * Check declared sort keys are DTO properties mapped from primary key or {@link SwaggerSortKey} fields of entity.
+     *
+     * @param handlerMethod handler method of descriptor
+     */
+    private void checkSortKeys(HandlerMethod handlerMethod) {
+        if (PaginationMode.KEYSET != pagination || sortKeys.isEmpty()) {
+            return;
+        }
+        FieldIndex entityFields = FieldIndex.of(entityClass);
+        FieldIndex fields = FieldIndex.of(responseDtoClass);
+        for (String sortKey : sortKeys) {
+            if (!hasField(fields, sortKey) || !entityFields.isSortKeyField(entityFields.slotOf(sortKey))) {
+                throw new IllegalStateException("Sort key " + sortKey + " of " + handlerMethod
+                        + " isn't a property of " + responseDtoClass.getName()
+                        + " mapped from a primary key or @SwaggerSortKey field of " + entityClass.getName());
+            }
+        }
+    }
+
+    private static boolean hasField(FieldIndex fields, String name) {
+        for (int i = 0; i < fields.size(); i++) {
+            if (fields.fieldAt(i).getName().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check descriptor belongs to a Generic Controller.
+     *
+     * @return true if entity class is configured, otherwise return false
+     */
+    public boolean isGeneric() {
+        return null != entityClass;
+    }
+
+    /**
+     * Check kind of operation is any of given kinds.
+     *
+     * @param kinds list kind of operation
+     * @return true if kind of operation is any of given kinds
+     */
+    public boolean isAnyOf(GenericOperationKind... kinds) {
+        return Arrays.asList(kinds).contains(kind);
+    }
+
+    public Class<? extends BaseModel> getEntityClass() {
+        return entityClass;
+    }
+
+    public GenericOperationKind getKind() {
+        return kind;
+    }
+
+    public Class<?> getRequestDtoClass() {
+        return requestDtoClass;
+    }
+
+    public Class<?> getResponseDtoClass() {
+        return responseDtoClass;
+    }
+
+    public Class<?> getResponseWrapperClass() {
+        return responseWrapperClass;
+    }
+
+    public PaginationMode getPagination() {
+        return pagination;
+    }
+
+    public List<String> getSortKeys() {
+        return sortKeys;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GenericOperationDescriptor)) {
+            return false;
+        }
+        GenericOperationDescriptor that = (GenericOperationDescriptor) o;
+        return entityClass == that.entityClass
+                && kind == that.kind
+                && requestDtoClass == that.requestDtoClass
+                && responseDtoClass == that.responseDtoClass
+                && responseWrapperClass == that.responseWrapperClass
+                && pagination == that.pagination
+                && sortKeys.equals(that.sortKeys);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(entityClass, kind, requestDtoClass, responseDtoClass, responseWrapperClass, pagination, sortKeys);
+    }
+}
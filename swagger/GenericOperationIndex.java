@@ -0,0 +1,143 @@
+package bap.jp.smartfashion.support.swagger;
+
+import bap.jp.smartfashion.common.base.BaseModel;
+import bap.jp.smartfashion.support.swagger.processor.SwaggerGenericIndexProcessor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.method.HandlerMethod;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Index of Generic Controller operations generated at compile time by {@link SwaggerGenericIndexProcessor}.
+ * <p>
+ * Index is loaded once per class loader. Kinds and DTO classes recorded in the index are trusted, an entry is only
+ * checked against the {@link SwaggerEntity} of the controller, so an index hit costs no merged-annotation reflection.
+ * Handler methods which are not in the index or whose entity changed are described by reflection.
+ *
+ * @author hungp
+ */
+@Slf4j
+final class GenericOperationIndex {
+
+    private static final String UNKNOWN = "?";
+
+    private static final Map<ClassLoader, Map<String, String>> INDEXES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private GenericOperationIndex() {
+    }
+
+    /**
+     * Find descriptor of handler method in compile time index.
+     *
+     * @param handlerMethod handler method
+     * @return descriptor, null if handler method isn't indexed, index entry cannot be read or is stale
+     */
+    static GenericOperationDescriptor find(HandlerMethod handlerMethod) {
+        ClassLoader classLoader = handlerMethod.getBeanType().getClassLoader();
+        if (null == classLoader) {
+            return null;
+        }
+        Map<String, String> index = INDEXES.computeIfAbsent(classLoader, GenericOperationIndex::load);
+        if (index.isEmpty()) {
+            return null;
+        }
+        String entry = index.get(key(ClassUtils.getUserClass(handlerMethod.getBeanType()), handlerMethod.getMethod()));
+        if (null == entry) {
+            return null;
+        }
+        GenericOperationDescriptor descriptor;
+        try {
+            descriptor = parse(entry, classLoader);
+        } catch (ClassNotFoundException | IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            log.warn("Ignore swagger generic index entry {} of {}: {}", entry, handlerMethod, e.getMessage());
+            return null;
+        }
+        if (!matches(descriptor, handlerMethod)) {
+            log.warn("Ignore stale swagger generic index entry {} of {}, rebuild to refresh the index", entry, handlerMethod);
+            return null;
+        }
+        return descriptor;
+    }
+
+    /**
+     * Check index entry agrees with entity of controller.
+     */
+    private static boolean matches(GenericOperationDescriptor descriptor, HandlerMethod handlerMethod) {
+        SwaggerEntity swaggerEntity = AnnotationUtils.findAnnotation(handlerMethod.getBeanType(), SwaggerEntity.class);
+        return null != swaggerEntity && swaggerEntity.value() == descriptor.getEntityClass();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static GenericOperationDescriptor parse(String entry, ClassLoader classLoader) throws ClassNotFoundException {
+        String[] values = entry.split("\\|", -1);
+        GenericOperationKind kind = GenericOperationKind.valueOf(values[0]);
+        Class<? extends BaseModel> entityClass = (Class<? extends BaseModel>) Class.forName(values[1], false, classLoader);
+        PaginationMode pagination = values.length > 4 ? PaginationMode.valueOf(values[4]) : PaginationMode.OFFSET;
+        List<String> sortKeys = values.length > 5 && !values[5].isEmpty() ? Arrays.asList(values[5].split(",")) : Collections.emptyList();
+        if (UNKNOWN.equals(values[2]) || UNKNOWN.equals(values[3])) {
+            return GenericOperationDescriptor.of(entityClass, kind, pagination, sortKeys);
+        }
+        return GenericOperationDescriptor.of(entityClass, kind, load(values[2], classLoader), load(values[3], classLoader),
+                pagination, sortKeys);
+    }
+
+    private static Class<?> load(String className, ClassLoader classLoader) throws ClassNotFoundException {
+        return className.isEmpty() ? null : Class.forName(className, false, classLoader);
+    }
+
+    /**
+     * Build index key of method: controller binary name, method name and canonical names of parameter types.
+     */
+    private static String key(Class<?> beanType, Method method) {
+        StringBuilder key = new StringBuilder(beanType.getName()).append('#').append(method.getName()).append('(');
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i > 0) {
+                key.append(',');
+            }
+            key.append(parameterTypes[i].getCanonicalName());
+        }
+        return key.append(')').toString();
+    }
+
+    /**
+     * Load and merge all index resources visible to class loader.
+     */
+    private static Map<String, String> load(ClassLoader classLoader) {
+        Map<String, String> index = new HashMap<>();
+        try {
+            Enumeration<URL> resources = classLoader.getResources(SwaggerGenericIndexProcessor.INDEX);
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while (null != (line = reader.readLine())) {
+                        int separator = line.indexOf('=');
+                        if (separator > 0) {
+                            index.put(line.substring(0, separator), line.substring(separator + 1));
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Cannot load swagger generic index, fall back to reflection: {}", e.getMessage());
+            return Collections.emptyMap();
+        }
+        log.debug("Loaded {} swagger generic index entries", index.size());
+        return index;
+    }
+}
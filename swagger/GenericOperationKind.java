@@ -0,0 +1,38 @@
+package bap.jp.smartfashion.support.swagger;
+
+import org.springframework.core.annotation.AnnotationUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * Kind of Generic Controller operation.
+ *
+ * @author hungp
+ */
+public enum GenericOperationKind {
+
+    CREATE,
+    UPDATE,
+    READ,
+    READ_ALL,
+    OTHER;
+
+    /**
+     * Get kind of operation from handler method.
+     *
+     * @param method handler method
+     * @return kind of operation, OTHER if method doesn't have any generic method annotation
+     */
+    public static GenericOperationKind of(Method method) {
+        if (null != AnnotationUtils.findAnnotation(method, SwaggerGenericCreateMethod.class)) {
+            return CREATE;
+        } else if (null != AnnotationUtils.findAnnotation(method, SwaggerGenericUpdateMethod.class)) {
+            return UPDATE;
+        } else if (null != AnnotationUtils.findAnnotation(method, SwaggerGenericReadMethod.class)) {
+            return READ;
+        } else if (null != AnnotationUtils.findAnnotation(method, SwaggerGenericReadAllMethod.class)) {
+            return READ_ALL;
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,19 @@
+package bap.jp.smartfashion.support.swagger;
+
+/**
+ * Pagination of read all method of Generic Controller.
+ *
+ * @author hungp
+ */
+public enum PaginationMode {
+
+    /**
+     * Offset pagination by page and limit, response is wrapped in PageInfo.
+     */
+    OFFSET,
+
+    /**
+     * Keyset pagination by cursor and limit, response is wrapped in {@link CursorPageInfo}.
+     */
+    KEYSET
+}
@@ -0,0 +1,103 @@
+package bap.jp.smartfashion.support.swagger;
+
+import com.fasterxml.classmate.ResolvedType;
+import com.fasterxml.classmate.TypeResolver;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Interning cache of Resolved Type.
+ *
+ * @author hungp
+ */
+public class ResolvedTypeCache {
+
+    private static final ConcurrentMap<Key, ResolvedType> TYPES = new ConcurrentHashMap<>();
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    private ResolvedTypeCache() {
+    }
+
+    /**
+     * Resolve type.
+     *
+     * @param resolver      Type Resolver
+     * @param type          raw class
+     * @param typeArguments type arguments
+     * @return interned Resolved Type
+     */
+    public static ResolvedType resolve(TypeResolver resolver, Class<?> type, Class<?>... typeArguments) {
+        Key key = new Key(type, typeArguments);
+        ResolvedType resolvedType = TYPES.get(key);
+        if (null != resolvedType) {
+            HITS.increment();
+            return resolvedType;
+        }
+        return TYPES.computeIfAbsent(key, k -> {
+            MISSES.increment();
+            return resolver.resolve(type, typeArguments);
+        });
+    }
+
+    /**
+     * Get number of requests served from cache.
+     *
+     * @return hit count
+     */
+    public static long getHitCount() {
+        return HITS.sum();
+    }
+
+    /**
+     * Get number of requests which resolved a new type.
+     *
+     * @return miss count
+     */
+    public static long getMissCount() {
+        return MISSES.sum();
+    }
+
+    /**
+     * Clear cache, hit and miss counters keep counting.
+     */
+    public static void clear() {
+        TYPES.clear();
+    }
+
+    /**
+     * Cache key of raw class and type arguments.
+     */
+    private static final class Key {
+
+        private final Class<?> type;
+        private final Class<?>[] typeArguments;
+        private final int hash;
+
+        Key(Class<?> type, Class<?>[] typeArguments) {
+            this.type = type;
+            this.typeArguments = typeArguments;
+            this.hash = 31 * type.hashCode() + Arrays.hashCode(typeArguments);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return type == key.type && Arrays.equals(typeArguments, key.typeArguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
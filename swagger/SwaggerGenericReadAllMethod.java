@@ -13,4 +13,15 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ElementType.METHOD})
 public @interface SwaggerGenericReadAllMethod {
+
+    /**
+     * Pagination of method, offset pagination by default.
+     */
+    PaginationMode pagination() default PaginationMode.OFFSET;
+
+    /**
+     * Properties of DTO which keyset pagination can sort by. Properties mapped from primary key of entity if empty.
+     * Each property must be mapped from a primary key or {@link SwaggerSortKey} field of entity.
+     */
+    String[] sortKeys() default {};
 }
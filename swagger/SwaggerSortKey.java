@@ -0,0 +1,18 @@
+package bap.jp.smartfashion.support.swagger;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks field of entity which keyset pagination can sort by.
+ * <p>
+ * Put it on fields backed by an index or unique constraint. Primary key fields are sortable without it.
+ *
+ * @author hungp
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD})
+public @interface SwaggerSortKey {
+}
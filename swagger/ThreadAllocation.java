@@ -0,0 +1,76 @@
+package bap.jp.smartfashion.support.swagger;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bytes allocated by threads which build documentation.
+ * <p>
+ * Worker threads of pools created with {@link #workerThreadFactory()} add their allocated bytes to a counter when
+ * they terminate, so work done off the building thread can be measured after the pool has shut down.
+ *
+ * @author hungp
+ */
+public final class ThreadAllocation {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final LongAdder TERMINATED_WORKERS = new LongAdder();
+
+    private ThreadAllocation() {
+    }
+
+    /**
+     * Get bytes allocated by current thread.
+     *
+     * @return allocated bytes, -1 if not supported by the JVM
+     */
+    public static long currentThread() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunThreads = (com.sun.management.ThreadMXBean) THREADS;
+            if (sunThreads.isThreadAllocatedMemorySupported() && sunThreads.isThreadAllocatedMemoryEnabled()) {
+                return sunThreads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get bytes allocated by terminated worker threads.
+     *
+     * @return allocated bytes
+     */
+    public static long terminatedWorkers() {
+        return TERMINATED_WORKERS.sum();
+    }
+
+    /**
+     * Get factory of fork-join worker threads which record their allocated bytes on termination.
+     *
+     * @return worker thread factory
+     */
+    public static ForkJoinPool.ForkJoinWorkerThreadFactory workerThreadFactory() {
+        return RecordingWorkerThread::new;
+    }
+
+    /**
+     * Worker thread which records its allocated bytes on termination.
+     */
+    private static final class RecordingWorkerThread extends ForkJoinWorkerThread {
+
+        RecordingWorkerThread(ForkJoinPool pool) {
+            super(pool);
+        }
+
+        @Override
+        protected void onTermination(Throwable exception) {
+            long allocated = currentThread();
+            if (allocated > 0) {
+                TERMINATED_WORKERS.add(allocated);
+            }
+            super.onTermination(exception);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package bap.jp.smartfashion.support.swagger.actuate;
+
+import bap.jp.smartfashion.support.swagger.ResolvedTypeCache;
+import bap.jp.smartfashion.support.swagger.docs.DocumentationBuildBudget;
+import bap.jp.smartfashion.support.swagger.plugin.GenericSwaggerMetrics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint {@code /actuator/generic-swagger} with timings of Generic Controller plugins.
+ *
+ * @author hungp
+ */
+@Component
+@ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+@Endpoint(id = "generic-swagger")
+public class GenericSwaggerEndpoint {
+
+    private static final int SLOWEST_HANDLERS = 20;
+
+    private final DocumentationBuildBudget budget;
+
+    public GenericSwaggerEndpoint(DocumentationBuildBudget budget) {
+        this.budget = budget;
+    }
+
+    @ReadOperation
+    public Map<String, Object> report() {
+        Map<String, Object> cache = new LinkedHashMap<>();
+        cache.put("resolvedTypeHits", ResolvedTypeCache.getHitCount());
+        cache.put("resolvedTypeMisses", ResolvedTypeCache.getMissCount());
+        cache.put("plugins", GenericSwaggerMetrics.caches());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("lastBuild", budget.getLastBuild());
+        report.put("plugins", GenericSwaggerMetrics.plugins());
+        report.put("cache", cache);
+        report.put("slowestHandlers", GenericSwaggerMetrics.slowestHandlers(SLOWEST_HANDLERS));
+        report.put("entities", GenericSwaggerMetrics.entities());
+        return report;
+    }
+}
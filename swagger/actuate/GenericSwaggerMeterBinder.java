@@ -0,0 +1,79 @@
+package bap.jp.smartfashion.support.swagger.actuate;
+
+import bap.jp.smartfashion.support.swagger.ResolvedTypeCache;
+import bap.jp.smartfashion.support.swagger.docs.DocumentationBuildBudget;
+import bap.jp.smartfashion.support.swagger.docs.DocumentationBuildStats;
+import bap.jp.smartfashion.support.swagger.plugin.GenericSwaggerMetrics;
+import bap.jp.smartfashion.support.swagger.plugin.GenericSwaggerPlugin;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters of Generic Controller plugins.
+ *
+ * @author hungp
+ */
+@Component
+@ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+public class GenericSwaggerMeterBinder implements MeterBinder {
+
+    private final List<GenericSwaggerPlugin> plugins;
+    private final DocumentationBuildBudget budget;
+
+    public GenericSwaggerMeterBinder(List<GenericSwaggerPlugin> plugins, DocumentationBuildBudget budget) {
+        this.plugins = plugins;
+        this.budget = budget;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (GenericSwaggerPlugin plugin : plugins) {
+            String name = plugin.getClass().getSimpleName();
+            GenericSwaggerMetrics.PluginStats stats = GenericSwaggerMetrics.plugin(plugin.getClass());
+            FunctionTimer.builder("generic.swagger.plugin.apply", stats,
+                    GenericSwaggerMetrics.PluginStats::getApplies,
+                    GenericSwaggerMetrics.PluginStats::getNanos,
+                    TimeUnit.NANOSECONDS)
+                    .description("Time spent in apply of generic swagger plugin")
+                    .tag("plugin", name)
+                    .register(registry);
+            FunctionCounter.builder("generic.swagger.plugin.generic", stats, GenericSwaggerMetrics.PluginStats::getGeneric)
+                    .description("Applies for handlers of controllers with SwaggerEntity")
+                    .tag("plugin", name)
+                    .register(registry);
+        }
+        FunctionCounter.builder("generic.swagger.cache.resolved-type", ResolvedTypeCache.class, c -> ResolvedTypeCache.getHitCount())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("generic.swagger.cache.resolved-type", ResolvedTypeCache.class, c -> ResolvedTypeCache.getMissCount())
+                .tag("result", "miss")
+                .register(registry);
+        for (Map.Entry<String, GenericSwaggerMetrics.CacheStats> cache : GenericSwaggerMetrics.caches().entrySet()) {
+            FunctionCounter.builder("generic.swagger.cache.plugin", cache.getValue(), GenericSwaggerMetrics.CacheStats::getHits)
+                    .tag("cache", cache.getKey())
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("generic.swagger.cache.plugin", cache.getValue(), GenericSwaggerMetrics.CacheStats::getMisses)
+                    .tag("cache", cache.getKey())
+                    .tag("result", "miss")
+                    .register(registry);
+        }
+        Gauge.builder("generic.swagger.docs.build.time", budget, b -> millis(b.getLastBuild()))
+                .description("Wall time of last documentation build")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    private static double millis(DocumentationBuildStats stats) {
+        return null != stats ? stats.getMillis() : Double.NaN;
+    }
+}
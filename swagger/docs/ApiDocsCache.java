@@ -0,0 +1,134 @@
+package bap.jp.smartfashion.support.swagger.docs;
+
+import com.google.common.base.Strings;
+import io.swagger.models.Swagger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponents;
+import springfox.documentation.service.Documentation;
+import springfox.documentation.spring.web.DocumentationCache;
+import springfox.documentation.spring.web.json.JsonSerializer;
+import springfox.documentation.spring.web.plugins.Docket;
+import springfox.documentation.swagger2.mappers.ServiceModelToSwagger2Mapper;
+import springfox.documentation.swagger2.web.HostNameProvider;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache of serialized swagger 2 api docs per documentation group, host and base path.
+ * <p>
+ * Api docs are mapped and serialized once per host and base path, which are resolved from each request like springfox
+ * does, including {@code X-Forwarded-*} headers. Host is the one configured on the docket, otherwise
+ * {@code springfox.documentation.swagger.v2.host}, otherwise the host of the request. At most
+ * {@value #MAX_BASE_PATHS} hosts and base paths are cached per group, others are serialized per request.
+ *
+ * @author hungp
+ */
+@Slf4j
+@Component
+public class ApiDocsCache implements ApplicationListener<ContextRefreshedEvent> {
+
+    private static final int MAX_BASE_PATHS = 8;
+    private static final String DEFAULT_HOST = "DEFAULT";
+
+    private final DocumentationCache documentationCache;
+    private final ServiceModelToSwagger2Mapper mapper;
+    private final JsonSerializer jsonSerializer;
+    private final LazyDocumentationBootstrapper lazyBootstrapper;
+    private final ApiDocsCompactor compactor;
+    private final String hostNameOverride;
+    private final ConcurrentMap<String, ConcurrentMap<String, SerializedApiDocs>> apiDocs = new ConcurrentHashMap<>();
+    private final Set<String> limitedGroups = ConcurrentHashMap.newKeySet();
+
+    public ApiDocsCache(DocumentationCache documentationCache,
+                        ServiceModelToSwagger2Mapper mapper,
+                        JsonSerializer jsonSerializer,
+                        LazyDocumentationBootstrapper lazyBootstrapper,
+                        ApiDocsCompactor compactor,
+                        @Value("${springfox.documentation.swagger.v2.host:" + DEFAULT_HOST + "}") String hostNameOverride) {
+        this.documentationCache = documentationCache;
+        this.mapper = mapper;
+        this.jsonSerializer = jsonSerializer;
+        this.lazyBootstrapper = lazyBootstrapper;
+        this.compactor = compactor;
+        this.hostNameOverride = hostNameOverride;
+    }
+
+    /**
+     * Get serialized api docs of documentation group.
+     *
+     * @param group   documentation group, default group if empty
+     * @param request http request
+     * @return serialized api docs, null if documentation group doesn't exist
+     */
+    public SerializedApiDocs get(String group, HttpServletRequest request) {
+        lazyBootstrapper.ensureStarted();
+        String groupName = Strings.isNullOrEmpty(group) ? Docket.DEFAULT_GROUP_NAME : group;
+        Documentation documentation = documentationCache.documentationByGroup(groupName);
+        if (null == documentation) {
+            return null;
+        }
+        UriComponents uriComponents = HostNameProvider.componentsFrom(request, documentation.getBasePath());
+        String basePath = Strings.isNullOrEmpty(uriComponents.getPath()) ? "/" : uriComponents.getPath();
+        String host = Strings.isNullOrEmpty(documentation.getHost()) ? hostName(uriComponents) : documentation.getHost();
+        String key = host + basePath;
+        ConcurrentMap<String, SerializedApiDocs> docs = apiDocs.computeIfAbsent(groupName, name -> new ConcurrentHashMap<>());
+        SerializedApiDocs cached = docs.get(key);
+        if (null != cached) {
+            return cached;
+        }
+        if (docs.size() >= MAX_BASE_PATHS) {
+            if (limitedGroups.add(groupName)) {
+                log.warn("Api docs of group {} are cached for {} hosts and base paths at most, {} is serialized per request",
+                        groupName, MAX_BASE_PATHS, key);
+            }
+            return serialize(documentation, host, basePath);
+        }
+        return docs.computeIfAbsent(key, k -> serialize(documentation, host, basePath));
+    }
+
+    /**
+     * Resolve host like springfox does: configured host, otherwise host and port of request.
+     */
+    private String hostName(UriComponents uriComponents) {
+        if (!DEFAULT_HOST.equals(hostNameOverride)) {
+            return hostNameOverride;
+        }
+        int port = uriComponents.getPort();
+        return port > -1 ? uriComponents.getHost() + ":" + port : uriComponents.getHost();
+    }
+
+    /**
+     * Map documentation to swagger 2 model and serialize it.
+     *
+     * @param documentation documentation of group
+     * @param host          host resolved from docket, configuration or request
+     * @param basePath      base path resolved from request
+     * @return serialized api docs
+     */
+    private SerializedApiDocs serialize(Documentation documentation, String host, String basePath) {
+        Swagger swagger = mapper.mapDocumentation(documentation);
+        swagger.host(host);
+        swagger.basePath(basePath);
+        return SerializedApiDocs.of(compactor.compact(jsonSerializer.toJson(swagger).value()));
+    }
+
+    /**
+     * Clear serialized api docs.
+     */
+    public void clear() {
+        apiDocs.clear();
+        limitedGroups.clear();
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        clear();
+    }
+}
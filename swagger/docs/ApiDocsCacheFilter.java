@@ -0,0 +1,102 @@
+package bap.jp.smartfashion.support.swagger.docs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Serve swagger 2 api docs from {@link ApiDocsCache} without re-serializing on every request.
+ * <p>
+ * Enabled by {@code swagger.generic.docs.cache.enabled}, lazy documentation mode, static api docs mode or api docs
+ * compaction ({@link ApiDocsCompactor}) or sharding. In static
+ * mode api docs generated at build time are served from {@link StaticApiDocs} and documentation is never built.
+ * When {@link ApiDocsShards} is enabled, {@code shard} request parameter selects one shard or the shard index. Supports conditional requests
+ * with an ETag per encoding and serves the precomputed gzip copy to clients which accept it.
+ *
+ * @author hungp
+ */
+@Component
+public class ApiDocsCacheFilter extends OncePerRequestFilter {
+
+    private static final String GZIP = "gzip";
+
+    private final ApiDocsCache apiDocsCache;
+    private final StaticApiDocs staticApiDocs;
+    private final ApiDocsShards shards;
+    private final boolean enabled;
+    private final String path;
+
+    public ApiDocsCacheFilter(ApiDocsCache apiDocsCache,
+                              StaticApiDocs staticApiDocs,
+                              ApiDocsShards shards,
+                              ApiDocsCompactor compactor,
+                              LazyDocumentationBootstrapper lazyBootstrapper,
+                              @Value("${swagger.generic.docs.cache.enabled:false}") boolean enabled,
+                              @Value("${springfox.documentation.swagger.v2.path:/v2/api-docs}") String path) {
+        this.apiDocsCache = apiDocsCache;
+        this.staticApiDocs = staticApiDocs;
+        this.shards = shards;
+        this.enabled = enabled || lazyBootstrapper.isLazy() || staticApiDocs.isEnabled() || shards.isEnabled()
+                || compactor.isEnabled();
+        this.path = path;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !"GET".equals(request.getMethod()) || !path.equals(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String group = request.getParameter("group");
+        SerializedApiDocs docs = staticApiDocs.isEnabled() ? staticApiDocs.get(group) : apiDocsCache.get(group, request);
+        if (null != docs && shards.isEnabled() && null != request.getParameter(ApiDocsShards.SHARD_PARAMETER)) {
+            docs = shards.get(group, docs, request.getParameter(ApiDocsShards.SHARD_PARAMETER));
+            if (null == docs) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+        }
+        if (null == docs) {
+            chain.doFilter(request, response);
+            return;
+        }
+        write(request, response, docs);
+    }
+
+    /**
+     * Write serialized api docs to response.
+     *
+     * @param request  http request
+     * @param response http response
+     * @param docs     serialized api docs
+     * @throws IOException if response cannot be written
+     */
+    static void write(HttpServletRequest request, HttpServletResponse response, SerializedApiDocs docs) throws IOException {
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = null != acceptEncoding && acceptEncoding.contains(GZIP);
+        // Sets ETag and answers If-None-Match lists, weak tags and * with 304
+        if (new ServletWebRequest(request, response).checkNotModified(gzip ? docs.getGzipEtag() : docs.getEtag())) {
+            return;
+        }
+        byte[] body = docs.getJson();
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+            body = docs.getGzip();
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
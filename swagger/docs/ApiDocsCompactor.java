@@ -0,0 +1,204 @@
+package bap.jp.smartfashion.support.swagger.docs;
+
+import bap.jp.smartfashion.common.vo.PageInfo;
+import bap.jp.smartfashion.support.httpdefault.DefaultHttpService;
+import bap.jp.smartfashion.support.swagger.plugin.QueryParameterSkeletons;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact swagger 2 api docs generated for Generic Controllers.
+ * <p>
+ * Enabled by {@code swagger.generic.docs.compact.enabled}:
+ * <ul>
+ * <li>page, cursor, limit, orderBy and filter query parameters are defined once in {@code parameters} and operations refer
+ * to them by {@code $ref}</li>
+ * <li>{@code PageInfo«Dto»} definitions become {@code allOf} a shared {@code PageInfo} envelope and the list of
+ * items of the DTO</li>
+ * </ul>
+ * A parameter or definition which differs from the shared one is left as it is, so the compacted api docs describe
+ * the same api.
+ *
+ * @author hungp
+ */
+@Slf4j
+@Component
+public class ApiDocsCompactor {
+
+    private static final Set<String> SHARED_PARAMETERS = ImmutableSet.of(
+            DefaultHttpService.PAGE, QueryParameterSkeletons.CURSOR, DefaultHttpService.LIMIT, DefaultHttpService.ORDER_BY, DefaultHttpService.FILTER);
+    private static final String ENVELOPE = PageInfo.class.getSimpleName();
+    private static final String DEFINITION_PREFIX = "#/definitions/";
+    private static final String REF = "$ref";
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    public ApiDocsCompactor(ObjectMapper objectMapper,
+                            @Value("${swagger.generic.docs.compact.enabled:false}") boolean enabled) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Compact api docs.
+     *
+     * @param json api docs json
+     * @return compacted api docs json, the same json if compaction is disabled
+     */
+    public String compact(String json) {
+        if (!enabled) {
+            return json;
+        }
+        try {
+            ObjectNode tree = (ObjectNode) objectMapper.readTree(json);
+            shareParameters(tree);
+            shareEnvelope(tree);
+            return objectMapper.writeValueAsString(tree);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Replace inline page, limit, orderBy and filter query parameters by references to shared parameters.
+     */
+    private void shareParameters(ObjectNode tree) {
+        ObjectNode shared = tree.has("parameters") ? (ObjectNode) tree.get("parameters") : objectMapper.createObjectNode();
+        for (JsonNode path : tree.path("paths")) {
+            for (JsonNode operation : path) {
+                JsonNode parameters = operation.path("parameters");
+                for (int i = 0; i < parameters.size(); i++) {
+                    JsonNode parameter = parameters.get(i);
+                    String name = parameter.path("name").asText();
+                    if (!"query".equals(parameter.path("in").asText()) || !SHARED_PARAMETERS.contains(name)) {
+                        continue;
+                    }
+                    JsonNode definition = shared.get(name);
+                    if (null == definition) {
+                        shared.set(name, parameter);
+                    }
+                    if (null == definition || definition.equals(parameter)) {
+                        ((ArrayNode) parameters).set(i, objectMapper.createObjectNode().put(REF, "#/parameters/" + name));
+                    }
+                }
+            }
+        }
+        if (shared.size() > 0) {
+            tree.set("parameters", shared);
+        }
+    }
+
+    /**
+     * Replace {@code PageInfo«Dto»} definitions by {@code allOf} shared envelope and list of items.
+     */
+    private void shareEnvelope(ObjectNode tree) {
+        JsonNode node = tree.path("definitions");
+        if (!node.isObject()) {
+            return;
+        }
+        ObjectNode definitions = (ObjectNode) node;
+        JsonNode envelope = definitions.get(ENVELOPE);
+        int shared = 0;
+        Iterator<Map.Entry<String, JsonNode>> entries = definitions.fields();
+        while (entries.hasNext()) {
+            Map.Entry<String, JsonNode> entry = entries.next();
+            String itemType = itemTypeOf(entry.getKey());
+            String itemsProperty = null == itemType ? null : itemsPropertyOf(entry.getValue(), itemType);
+            if (null == itemsProperty) {
+                continue;
+            }
+            ObjectNode rest = entry.getValue().deepCopy();
+            ((ObjectNode) rest.get("properties")).remove(itemsProperty);
+            boolean itemsRequired = removeRequired(rest, itemsProperty);
+            if (null == envelope) {
+                envelope = rest;
+            } else if (!envelope.equals(rest)) {
+                continue;
+            }
+            ObjectNode items = objectMapper.createObjectNode().put("type", "object");
+            items.putObject("properties").set(itemsProperty, entry.getValue().get("properties").get(itemsProperty));
+            if (itemsRequired) {
+                items.putArray("required").add(itemsProperty);
+            }
+            ObjectNode compacted = objectMapper.createObjectNode();
+            ArrayNode allOf = compacted.putArray("allOf");
+            allOf.addObject().put(REF, DEFINITION_PREFIX + ENVELOPE);
+            allOf.add(items);
+            entry.setValue(compacted);
+            shared++;
+        }
+        if (shared > 0) {
+            definitions.set(ENVELOPE, envelope);
+            log.debug("Shared {} envelope in {} definitions", ENVELOPE, shared);
+        }
+    }
+
+    /**
+     * Remove property from required properties of definition.
+     *
+     * @return true if property was required
+     */
+    private static boolean removeRequired(ObjectNode definition, String property) {
+        JsonNode required = definition.path("required");
+        for (int i = 0; i < required.size(); i++) {
+            if (property.equals(required.get(i).asText())) {
+                ((ArrayNode) required).remove(i);
+                if (required.size() == 0) {
+                    definition.remove("required");
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get item type of {@code PageInfo«Dto»} definition name.
+     *
+     * @return item type, null if definition isn't a page of items
+     */
+    private static String itemTypeOf(String definitionName) {
+        String prefix = ENVELOPE + "«";
+        if (definitionName.startsWith(prefix) && definitionName.endsWith("»")) {
+            return definitionName.substring(prefix.length(), definitionName.length() - 1);
+        }
+        return null;
+    }
+
+    /**
+     * Find the property which holds items, only if it is the only property referring to item type.
+     */
+    private static String itemsPropertyOf(JsonNode definition, String itemType) {
+        String ref = DEFINITION_PREFIX + itemType;
+        String itemsProperty = null;
+        Iterator<Map.Entry<String, JsonNode>> properties = definition.path("properties").fields();
+        while (properties.hasNext()) {
+            Map.Entry<String, JsonNode> property = properties.next();
+            if (ref.equals(property.getValue().path(REF).asText())
+                    || ref.equals(property.getValue().path("items").path(REF).asText())) {
+                if (null != itemsProperty) {
+                    return null;
+                }
+                itemsProperty = property.getKey();
+            }
+        }
+        return itemsProperty;
+    }
+}
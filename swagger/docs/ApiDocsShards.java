@@ -0,0 +1,269 @@
+package bap.jp.smartfashion.support.swagger.docs;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Api docs split into one document per tag, i.e. per controller, which is one entity for Generic Controllers.
+ * <p>
+ * Enabled by {@code swagger.generic.docs.shards.enabled}. {@code ?shard} returns a small index document listing the
+ * shards, {@code ?shard=<tag>} returns a document with only the operations of that tag and the definitions they
+ * refer to. Shards are built on demand from the full api docs and cached per api docs version (ETag).
+ *
+ * @author hungp
+ */
+@Component
+public class ApiDocsShards implements ApplicationListener<ContextRefreshedEvent> {
+
+    /**
+     * Request parameter which selects a shard, index document if empty.
+     */
+    public static final String SHARD_PARAMETER = "shard";
+
+    private static final String DEFINITION_PREFIX = "#/definitions/";
+    private static final String PATH_PARAMETERS = "parameters";
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final ConcurrentMap<String, ObjectNode> trees = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ShardKey, SerializedApiDocs> shards = new ConcurrentHashMap<>();
+
+    public ApiDocsShards(ObjectMapper objectMapper,
+                         @Value("${swagger.generic.docs.shards.enabled:false}") boolean enabled) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get shard of api docs.
+     *
+     * @param group documentation group as requested, may be empty
+     * @param docs  full api docs of group
+     * @param shard tag of shard, index document if empty
+     * @return serialized shard, null if there is no such tag
+     */
+    public SerializedApiDocs get(String group, SerializedApiDocs docs, String shard) {
+        String tag = null == shard ? "" : shard;
+        ShardKey key = new ShardKey(docs.getEtag(), group, tag);
+        SerializedApiDocs cached = shards.get(key);
+        if (null != cached) {
+            return cached;
+        }
+        ObjectNode tree = trees.computeIfAbsent(docs.getEtag(), etag -> read(docs));
+        ObjectNode document = tag.isEmpty() ? buildIndex(group, tree) : buildShard(tree, tag);
+        if (null == document) {
+            return null;
+        }
+        return shards.computeIfAbsent(key, k -> write(document));
+    }
+
+    /**
+     * Build index document: tags with number of operations and relative url of shard.
+     */
+    private ObjectNode buildIndex(String group, ObjectNode tree) {
+        Map<String, Integer> operationCounts = new TreeMap<>();
+        for (JsonNode path : tree.path("paths")) {
+            Iterator<Map.Entry<String, JsonNode>> operations = path.fields();
+            while (operations.hasNext()) {
+                Map.Entry<String, JsonNode> operation = operations.next();
+                if (!PATH_PARAMETERS.equals(operation.getKey())) {
+                    for (JsonNode tag : operation.getValue().path("tags")) {
+                        operationCounts.merge(tag.asText(), 1, Integer::sum);
+                    }
+                }
+            }
+        }
+        ObjectNode index = objectMapper.createObjectNode();
+        index.set("swagger", tree.get("swagger"));
+        index.set("info", tree.get("info"));
+        ArrayNode shardNodes = index.putArray("shards");
+        for (Map.Entry<String, Integer> entry : operationCounts.entrySet()) {
+            UriComponentsBuilder url = UriComponentsBuilder.newInstance();
+            if (null != group && !group.isEmpty()) {
+                url.queryParam("group", group);
+            }
+            url.queryParam(SHARD_PARAMETER, entry.getKey());
+            shardNodes.addObject()
+                    .put("tag", entry.getKey())
+                    .put("operations", entry.getValue())
+                    .put("url", url.encode().build().toUriString());
+        }
+        return index;
+    }
+
+    /**
+     * Build shard document: operations of tag, path parameters of their paths and the definitions they refer to.
+     */
+    private ObjectNode buildShard(ObjectNode tree, String tag) {
+        ObjectNode paths = objectMapper.createObjectNode();
+        Iterator<Map.Entry<String, JsonNode>> pathEntries = tree.path("paths").fields();
+        while (pathEntries.hasNext()) {
+            Map.Entry<String, JsonNode> pathEntry = pathEntries.next();
+            ObjectNode path = objectMapper.createObjectNode();
+            Iterator<Map.Entry<String, JsonNode>> operations = pathEntry.getValue().fields();
+            while (operations.hasNext()) {
+                Map.Entry<String, JsonNode> operation = operations.next();
+                if (!PATH_PARAMETERS.equals(operation.getKey()) && hasTag(operation.getValue(), tag)) {
+                    path.set(operation.getKey(), operation.getValue());
+                }
+            }
+            if (path.size() > 0) {
+                if (pathEntry.getValue().has(PATH_PARAMETERS)) {
+                    path.set(PATH_PARAMETERS, pathEntry.getValue().get(PATH_PARAMETERS));
+                }
+                paths.set(pathEntry.getKey(), path);
+            }
+        }
+        if (paths.size() == 0) {
+            return null;
+        }
+        ObjectNode shard = objectMapper.createObjectNode();
+        Iterator<Map.Entry<String, JsonNode>> fields = tree.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            shard.set(field.getKey(), field.getValue());
+        }
+        shard.set("paths", paths);
+        shard.set("tags", filterTags(tree.path("tags"), tag));
+        shard.set("definitions", referencedDefinitions(shard, tree.path("definitions")));
+        return shard;
+    }
+
+    private static boolean hasTag(JsonNode operation, String tag) {
+        for (JsonNode each : operation.path("tags")) {
+            if (tag.equals(each.asText())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ArrayNode filterTags(JsonNode tags, String tag) {
+        ArrayNode filtered = objectMapper.createArrayNode();
+        for (JsonNode each : tags) {
+            if (tag.equals(each.path("name").asText())) {
+                filtered.add(each);
+            }
+        }
+        return filtered;
+    }
+
+    /**
+     * Collect definitions transitively referred to by paths, parameters and responses of shard.
+     */
+    private ObjectNode referencedDefinitions(ObjectNode shard, JsonNode definitions) {
+        Set<String> names = new TreeSet<>();
+        Deque<JsonNode> pending = new ArrayDeque<>();
+        pending.push(shard.path("paths"));
+        pending.push(shard.path("parameters"));
+        pending.push(shard.path("responses"));
+        while (!pending.isEmpty()) {
+            JsonNode node = pending.pop();
+            if (node.isObject()) {
+                JsonNode ref = node.get("$ref");
+                if (null != ref && ref.isTextual() && ref.asText().startsWith(DEFINITION_PREFIX)) {
+                    String name = ref.asText().substring(DEFINITION_PREFIX.length());
+                    if (names.add(name) && definitions.has(name)) {
+                        pending.push(definitions.get(name));
+                    }
+                }
+            }
+            if (node.isContainerNode()) {
+                node.forEach(pending::push);
+            }
+        }
+        ObjectNode referenced = objectMapper.createObjectNode();
+        for (String name : names) {
+            if (definitions.has(name)) {
+                referenced.set(name, definitions.get(name));
+            }
+        }
+        return referenced;
+    }
+
+    private ObjectNode read(SerializedApiDocs docs) {
+        try {
+            return (ObjectNode) objectMapper.readTree(docs.getJson());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private SerializedApiDocs write(ObjectNode document) {
+        try {
+            return SerializedApiDocs.of(objectMapper.writeValueAsString(document));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Clear shards.
+     */
+    public void clear() {
+        trees.clear();
+        shards.clear();
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        clear();
+    }
+
+    /**
+     * Cache key of shard.
+     */
+    private static final class ShardKey {
+
+        private final String etag;
+        private final String group;
+        private final String shard;
+
+        ShardKey(String etag, String group, String shard) {
+            this.etag = etag;
+            this.group = group;
+            this.shard = shard;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ShardKey)) {
+                return false;
+            }
+            ShardKey key = (ShardKey) o;
+            return etag.equals(key.etag) && Objects.equals(group, key.group) && shard.equals(key.shard);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(etag, group, shard);
+        }
+    }
+}
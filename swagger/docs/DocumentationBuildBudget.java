@@ -0,0 +1,115 @@
+package bap.jp.smartfashion.support.swagger.docs;
+
+import bap.jp.smartfashion.support.swagger.ThreadAllocation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wall time, allocation and heap growth budgets of documentation build.
+ * <p>
+ * Builds are measured by {@link DocumentationBuildInterceptor} from the pre-index of generic operations until
+ * springfox has built documentation and plugin caches are cleared. Allocated bytes are those of the building thread
+ * and of the pre-index workers. Heap growth is the difference of used heap read from {@link MemoryMXBean}, no
+ * collection is forced, so it includes garbage not collected yet. A budget of 0 is unlimited. When a budget is
+ * exceeded, a warning is logged, or the build fails if {@code swagger.generic.budget.fail-on-exceed} is true.
+ *
+ * @author hungp
+ */
+@Slf4j
+@Component
+public class DocumentationBuildBudget {
+
+    private static final long MB = 1024L * 1024L;
+
+    private final long maxMillis;
+    private final long maxAllocatedMb;
+    private final long maxHeapGrowthMb;
+    private final boolean failOnExceed;
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    private long startNanos = -1;
+    private long startThread;
+    private long startAllocatedBytes;
+    private long startWorkerBytes;
+    private long startHeapBytes;
+    private volatile DocumentationBuildStats lastBuild;
+
+    public DocumentationBuildBudget(@Value("${swagger.generic.budget.max-millis:0}") long maxMillis,
+                                    @Value("${swagger.generic.budget.max-allocated-mb:0}") long maxAllocatedMb,
+                                    @Value("${swagger.generic.budget.max-heap-growth-mb:0}") long maxHeapGrowthMb,
+                                    @Value("${swagger.generic.budget.fail-on-exceed:false}") boolean failOnExceed) {
+        this.maxMillis = maxMillis;
+        this.maxAllocatedMb = maxAllocatedMb;
+        this.maxHeapGrowthMb = maxHeapGrowthMb;
+        this.failOnExceed = failOnExceed;
+    }
+
+    /**
+     * Begin measuring documentation build on current thread.
+     */
+    public synchronized void begin() {
+        startHeapBytes = memory.getHeapMemoryUsage().getUsed();
+        startThread = Thread.currentThread().getId();
+        startAllocatedBytes = ThreadAllocation.currentThread();
+        startWorkerBytes = ThreadAllocation.terminatedWorkers();
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * End measuring documentation build and check budgets.
+     *
+     * @return stats of documentation build, null if measuring was not begun
+     */
+    public synchronized DocumentationBuildStats end() {
+        if (startNanos < 0) {
+            return null;
+        }
+        long millis = (System.nanoTime() - startNanos) / 1_000_000;
+        long allocated = -1;
+        if (startAllocatedBytes >= 0 && Thread.currentThread().getId() == startThread) {
+            allocated = ThreadAllocation.currentThread() - startAllocatedBytes
+                    + ThreadAllocation.terminatedWorkers() - startWorkerBytes;
+        }
+        long heapGrowth = memory.getHeapMemoryUsage().getUsed() - startHeapBytes;
+        startNanos = -1;
+
+        DocumentationBuildStats stats = new DocumentationBuildStats(millis, allocated, heapGrowth);
+        lastBuild = stats;
+        log.info("Documentation built in {} ms, allocated {} bytes, heap grew {} bytes", millis, allocated, heapGrowth);
+        check(stats);
+        return stats;
+    }
+
+    public DocumentationBuildStats getLastBuild() {
+        return lastBuild;
+    }
+
+    /**
+     * Check stats against budgets.
+     */
+    private void check(DocumentationBuildStats stats) {
+        List<String> exceeded = new ArrayList<>();
+        if (maxMillis > 0 && stats.getMillis() > maxMillis) {
+            exceeded.add("wall time " + stats.getMillis() + " ms > " + maxMillis + " ms");
+        }
+        if (maxAllocatedMb > 0 && stats.getAllocatedBytes() > maxAllocatedMb * MB) {
+            exceeded.add("allocated " + stats.getAllocatedBytes() / MB + " MB > " + maxAllocatedMb + " MB");
+        }
+        if (maxHeapGrowthMb > 0 && stats.getHeapGrowthBytes() > maxHeapGrowthMb * MB) {
+            exceeded.add("heap growth " + stats.getHeapGrowthBytes() / MB + " MB > " + maxHeapGrowthMb + " MB");
+        }
+        if (exceeded.isEmpty()) {
+            return;
+        }
+        if (failOnExceed) {
+            throw new IllegalStateException("Documentation build exceeded budget: " + exceeded);
+        }
+        log.warn("Documentation build exceeded budget: {}", exceeded);
+    }
+}
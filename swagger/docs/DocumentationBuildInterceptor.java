@@ -0,0 +1,78 @@
+package bap.jp.smartfashion.support.swagger.docs;
+
+import bap.jp.smartfashion.support.swagger.plugin.GenericOperationRegistry;
+import bap.jp.smartfashion.support.swagger.plugin.GenericSwaggerCacheCleaner;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+import springfox.documentation.spring.web.plugins.DocumentationPluginsBootstrapper;
+
+/**
+ * Run the work of Generic Controller plugins around springfox documentation build.
+ * <p>
+ * {@link DocumentationPluginsBootstrapper#start()} runs on startup, from {@link LazyDocumentationBootstrapper} or,
+ * in static api docs mode, never. Generic operations are pre-indexed right before it and plugin caches are cleared
+ * right after it, so neither happens unless documentation is actually built. The whole build is measured by
+ * {@link DocumentationBuildBudget}.
+ *
+ * @author hungp
+ */
+@Component
+public class DocumentationBuildInterceptor implements BeanPostProcessor {
+
+    private static final String START = "start";
+
+    private final ObjectProvider<GenericOperationRegistry> registry;
+    private final ObjectProvider<GenericSwaggerCacheCleaner> cacheCleaner;
+    private final ObjectProvider<DocumentationBuildBudget> budget;
+
+    public DocumentationBuildInterceptor(ObjectProvider<GenericOperationRegistry> registry,
+                                         ObjectProvider<GenericSwaggerCacheCleaner> cacheCleaner,
+                                         ObjectProvider<DocumentationBuildBudget> budget) {
+        this.registry = registry;
+        this.cacheCleaner = cacheCleaner;
+        this.budget = budget;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DocumentationPluginsBootstrapper)) {
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice((MethodInterceptor) this::invoke);
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+
+    /**
+     * Wrap first start of bootstrapper, pass other calls through.
+     * When the build fails, caches are still cleared and an exceeded budget is added to the build failure as suppressed.
+     */
+    private Object invoke(MethodInvocation invocation) throws Throwable {
+        DocumentationPluginsBootstrapper bootstrapper = (DocumentationPluginsBootstrapper) invocation.getThis();
+        if (!START.equals(invocation.getMethod().getName()) || invocation.getArguments().length > 0 || bootstrapper.isRunning()) {
+            return invocation.proceed();
+        }
+        budget.getObject().begin();
+        Object result;
+        try {
+            registry.getObject().index();
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            try {
+                cacheCleaner.getObject().clear();
+                budget.getObject().end();
+            } catch (RuntimeException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        cacheCleaner.getObject().clear();
+        budget.getObject().end();
+        return result;
+    }
+}
@@ -0,0 +1,40 @@
+package bap.jp.smartfashion.support.swagger.docs;
+
+/**
+ * Stats of a documentation build.
+ *
+ * @author hungp
+ */
+public final class DocumentationBuildStats {
+
+    private final long millis;
+    private final long allocatedBytes;
+    private final long heapGrowthBytes;
+
+    public DocumentationBuildStats(long millis, long allocatedBytes, long heapGrowthBytes) {
+        this.millis = millis;
+        this.allocatedBytes = allocatedBytes;
+        this.heapGrowthBytes = heapGrowthBytes;
+    }
+
+    /**
+     * Wall time in milliseconds.
+     */
+    public long getMillis() {
+        return millis;
+    }
+
+    /**
+     * Bytes allocated by the building thread and pre-index workers, -1 if not available.
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Growth of used heap in bytes, including garbage not collected yet.
+     */
+    public long getHeapGrowthBytes() {
+        return heapGrowthBytes;
+    }
+}
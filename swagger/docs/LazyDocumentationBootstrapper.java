@@ -0,0 +1,71 @@
+package bap.jp.smartfashion.support.swagger.docs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+import springfox.documentation.spring.web.plugins.DocumentationPluginsBootstrapper;
+
+/**
+ * Deferred springfox documentation build.
+ * <p>
+ * When lazy mode is enabled (together with {@code springfox.documentation.auto-startup=false}), documentation is
+ * built either on a low-priority background thread once the application is ready, or on the first api docs request.
+ * Generic operations are only pre-indexed then, see {@link DocumentationBuildInterceptor}.
+ *
+ * @author hungp
+ */
+@Slf4j
+@Component
+public class LazyDocumentationBootstrapper implements ApplicationListener<ApplicationReadyEvent> {
+
+    private final DocumentationPluginsBootstrapper bootstrapper;
+    private final boolean lazy;
+    private final boolean background;
+    private volatile boolean started;
+
+    public LazyDocumentationBootstrapper(DocumentationPluginsBootstrapper bootstrapper,
+                                         @Value("${swagger.generic.docs.lazy.enabled:false}") boolean lazy,
+                                         @Value("${swagger.generic.docs.lazy.background:true}") boolean background) {
+        this.bootstrapper = bootstrapper;
+        this.lazy = lazy;
+        this.background = background;
+    }
+
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!lazy) {
+            return;
+        }
+        if (bootstrapper.isAutoStartup()) {
+            log.warn("Lazy documentation is enabled but springfox.documentation.auto-startup is not false, documentation is built eagerly");
+            started = true;
+        } else if (background) {
+            Thread thread = new Thread(this::ensureStarted, "generic-swagger-docs");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            thread.start();
+        }
+    }
+
+    /**
+     * Build documentation if it has not been built yet. Callers block until documentation is available.
+     */
+    public void ensureStarted() {
+        if (!lazy || started) {
+            return;
+        }
+        synchronized (this) {
+            if (!started) {
+                log.info("Building documentation lazily");
+                bootstrapper.start();
+                started = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package bap.jp.smartfashion.support.swagger.docs;
+
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Api docs serialized once, with precomputed gzip copy and a strong ETag per encoding.
+ *
+ * @author hungp
+ */
+public final class SerializedApiDocs {
+
+    private final byte[] json;
+    private final byte[] gzip;
+    private final String etag;
+    private final String gzipEtag;
+
+    private SerializedApiDocs(byte[] json, byte[] gzip, String hash) {
+        this.json = json;
+        this.gzip = gzip;
+        this.etag = "\"" + hash + "\"";
+        this.gzipEtag = "\"" + hash + "-gzip\"";
+    }
+
+    /**
+     * Serialize api docs.
+     *
+     * @param json api docs json
+     * @return serialized api docs
+     */
+    public static SerializedApiDocs of(String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return new SerializedApiDocs(bytes, gzip(bytes), DigestUtils.md5DigestAsHex(bytes));
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+
+    public byte[] getGzip() {
+        return gzip;
+    }
+
+    /**
+     * ETag of json body.
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * ETag of gzip body.
+     */
+    public String getGzipEtag() {
+        return gzipEtag;
+    }
+}
@@ -0,0 +1,128 @@
+package bap.jp.smartfashion.support.swagger.docs;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import springfox.documentation.spring.web.plugins.Docket;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Api docs generated at build time by {@link StaticApiDocsGenerator} and served from the classpath.
+ * <p>
+ * Enabled by {@code swagger.generic.docs.static.enabled}; set {@code springfox.documentation.auto-startup=false}
+ * as well, so springfox doesn't scan controllers at runtime and generic operations are never pre-indexed. Api docs of
+ * the groups listed by the index file written next to them are loaded once at startup, other groups are not found.
+ *
+ * @author hungp
+ */
+@Slf4j
+@Component
+public class StaticApiDocs {
+
+    /**
+     * Default location of generated api docs.
+     */
+    public static final String DEFAULT_LOCATION = "classpath:META-INF/swagger/";
+
+    /**
+     * File listing documentation groups of generated api docs, one per line.
+     */
+    public static final String GROUPS_FILE = "groups.txt";
+
+    private final ResourceLoader resourceLoader;
+    private final boolean enabled;
+    private final String location;
+    private final List<String> groups;
+    private final Map<String, SerializedApiDocs> apiDocs;
+
+    public StaticApiDocs(ResourceLoader resourceLoader,
+                         @Value("${swagger.generic.docs.static.enabled:false}") boolean enabled,
+                         @Value("${swagger.generic.docs.static.location:" + DEFAULT_LOCATION + "}") String location) {
+        this.resourceLoader = resourceLoader;
+        this.enabled = enabled;
+        this.location = location.endsWith("/") ? location : location + "/";
+        this.groups = enabled ? loadGroups() : Collections.emptyList();
+        this.apiDocs = loadApiDocs(groups);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get api docs of documentation group.
+     *
+     * @param group documentation group, default group if empty
+     * @return serialized api docs, null if there is no generated api docs for group
+     */
+    public SerializedApiDocs get(String group) {
+        return apiDocs.get(Strings.isNullOrEmpty(group) ? Docket.DEFAULT_GROUP_NAME : group);
+    }
+
+    /**
+     * Get documentation groups of generated api docs.
+     *
+     * @return group names, empty if there is no index file
+     */
+    public List<String> getGroups() {
+        return groups;
+    }
+
+    private List<String> loadGroups() {
+        Resource resource = resourceLoader.getResource(location + GROUPS_FILE);
+        if (!resource.exists()) {
+            log.warn("Static api docs index {} doesn't exist", resource);
+            return Collections.emptyList();
+        }
+        try (InputStream in = resource.getInputStream()) {
+            return Collections.unmodifiableList(Arrays.stream(StreamUtils.copyToString(in, StandardCharsets.UTF_8).split("\\R"))
+                    .map(String::trim)
+                    .filter(group -> !group.isEmpty())
+                    .collect(Collectors.toList()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<String, SerializedApiDocs> loadApiDocs(List<String> groupNames) {
+        ImmutableMap.Builder<String, SerializedApiDocs> loaded = ImmutableMap.builder();
+        for (String groupName : groupNames) {
+            Resource resource = resourceLoader.getResource(location + fileName(groupName));
+            if (!resource.exists()) {
+                log.warn("Static api docs {} doesn't exist", resource);
+                continue;
+            }
+            try (InputStream in = resource.getInputStream()) {
+                loaded.put(groupName, SerializedApiDocs.of(StreamUtils.copyToString(in, StandardCharsets.UTF_8)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return loaded.build();
+    }
+
+    /**
+     * Get file name of api docs of documentation group.
+     * Different groups may get the same file name, {@link StaticApiDocsGenerator} rejects such groups.
+     *
+     * @param groupName documentation group
+     * @return file name
+     */
+    public static String fileName(String groupName) {
+        return groupName.replaceAll("[^A-Za-z0-9._-]", "_") + ".json";
+    }
+}
@@ -0,0 +1,120 @@
+package bap.jp.smartfashion.support.swagger.docs;
+
+import io.swagger.models.Swagger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import springfox.documentation.service.Documentation;
+import springfox.documentation.spring.web.DocumentationCache;
+import springfox.documentation.spring.web.json.JsonSerializer;
+import springfox.documentation.swagger2.mappers.ServiceModelToSwagger2Mapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Generate api docs of all documentation groups at build time.
+ * <p>
+ * Boot the application against the compiled classes, let springfox and the generic plugins build documentation once,
+ * and write the json of each group to the output directory. Run it after classes are compiled, e.g. with
+ * {@code exec-maven-plugin} in the {@code process-classes} phase or a Gradle {@code JavaExec} task, and package the
+ * output directory as {@code META-INF/swagger/}:
+ * <pre>
+ * java StaticApiDocsGenerator com.example.Application target/classes/META-INF/swagger [--property=value ...]
+ * </pre>
+ * The properties which make documentation build eagerly are passed as command-line arguments, so they override
+ * application configuration; further arguments are passed to the application.
+ * <p>
+ * The application's own configuration is booted, since dockets, alternate types and naming strategies live there,
+ * but every bean is lazy: only springfox, the generic plugins and what they depend on are created. Controllers are
+ * only inspected by type, so their services, repositories and datasources are never created. Springfox reads handler
+ * mappings of a servlet web context, so an embedded server is still started on a random port.
+ *
+ * @author hungp
+ */
+@Slf4j
+public final class StaticApiDocsGenerator {
+
+    private StaticApiDocsGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException, ClassNotFoundException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: StaticApiDocsGenerator <application class> <output directory>");
+        }
+        Class<?> applicationClass = Class.forName(args[0]);
+        Path outputDirectory = Paths.get(args[1]);
+
+        List<String> applicationArgs = new ArrayList<>(Arrays.asList(args).subList(2, args.length));
+        applicationArgs.add("--server.port=0");
+        applicationArgs.add("--springfox.documentation.auto-startup=true");
+        applicationArgs.add("--swagger.generic.docs.lazy.enabled=false");
+        applicationArgs.add("--swagger.generic.docs.static.enabled=false");
+
+        SpringApplication application = new SpringApplication(applicationClass);
+        application.addInitializers(context -> context.addBeanFactoryPostProcessor(StaticApiDocsGenerator::lazyInit));
+        try (ConfigurableApplicationContext context = application.run(applicationArgs.toArray(new String[0]))) {
+            generate(context, outputDirectory);
+        }
+    }
+
+    /**
+     * Make every bean lazy, so only beans needed to build documentation are created.
+     */
+    private static void lazyInit(ConfigurableListableBeanFactory beanFactory) {
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            beanFactory.getBeanDefinition(beanName).setLazyInit(true);
+        }
+    }
+
+    /**
+     * Write api docs of all documentation groups and the index of groups.
+     *
+     * @param context         application context in which documentation has been built
+     * @param outputDirectory output directory
+     * @throws IOException if api docs cannot be written
+     */
+    public static void generate(ConfigurableApplicationContext context, Path outputDirectory) throws IOException {
+        DocumentationCache documentationCache = context.getBean(DocumentationCache.class);
+        ServiceModelToSwagger2Mapper mapper = context.getBean(ServiceModelToSwagger2Mapper.class);
+        JsonSerializer jsonSerializer = context.getBean(JsonSerializer.class);
+        ApiDocsCompactor compactor = context.getBean(ApiDocsCompactor.class);
+
+        checkFileNames(documentationCache.all().keySet());
+        Files.createDirectories(outputDirectory);
+        for (Map.Entry<String, Documentation> entry : documentationCache.all().entrySet()) {
+            Swagger swagger = mapper.mapDocumentation(entry.getValue());
+            Path file = outputDirectory.resolve(StaticApiDocs.fileName(entry.getKey()));
+            Files.write(file, compactor.compact(jsonSerializer.toJson(swagger).value()).getBytes(StandardCharsets.UTF_8));
+            log.info("Generated api docs of group {} to {}", entry.getKey(), file);
+        }
+        Files.write(outputDirectory.resolve(StaticApiDocs.GROUPS_FILE), new TreeSet<>(documentationCache.all().keySet()),
+                StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Check no two documentation groups are written to the same file, also on case-insensitive file systems.
+     */
+    private static void checkFileNames(Set<String> groupNames) {
+        Map<String, String> groupByFileName = new HashMap<>();
+        for (String groupName : groupNames) {
+            String other = groupByFileName.put(StaticApiDocs.fileName(groupName).toLowerCase(Locale.ROOT), groupName);
+            if (null != other) {
+                throw new IllegalStateException("Documentation groups " + other + " and " + groupName
+                        + " would be written to the same file, rename one of them");
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package bap.jp.smartfashion.support.swagger.docs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import springfox.documentation.spring.web.plugins.Docket;
+import springfox.documentation.swagger.web.InMemorySwaggerResourcesProvider;
+import springfox.documentation.swagger.web.SwaggerResource;
+import springfox.documentation.swagger.web.SwaggerResourcesProvider;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Swagger resources listed for Swagger UI.
+ * <p>
+ * In static api docs mode documentation is never built, so springfox has no groups to list; groups are then listed
+ * from {@link StaticApiDocs}. Otherwise springfox's resources are listed.
+ *
+ * @author hungp
+ */
+@Primary
+@Component
+public class StaticSwaggerResourcesProvider implements SwaggerResourcesProvider {
+
+    private static final String SWAGGER_VERSION = "2.0";
+
+    private final StaticApiDocs staticApiDocs;
+    private final InMemorySwaggerResourcesProvider inMemoryProvider;
+    private final String swagger2Url;
+
+    public StaticSwaggerResourcesProvider(StaticApiDocs staticApiDocs,
+                                          InMemorySwaggerResourcesProvider inMemoryProvider,
+                                          @Value("${springfox.documentation.swagger.v2.path:/v2/api-docs}") String swagger2Url) {
+        this.staticApiDocs = staticApiDocs;
+        this.inMemoryProvider = inMemoryProvider;
+        this.swagger2Url = swagger2Url;
+    }
+
+    @Override
+    public List<SwaggerResource> get() {
+        if (!staticApiDocs.isEnabled()) {
+            return inMemoryProvider.get();
+        }
+        return staticApiDocs.getGroups().stream()
+                .sorted()
+                .map(this::resource)
+                .collect(Collectors.toList());
+    }
+
+    private SwaggerResource resource(String group) {
+        SwaggerResource resource = new SwaggerResource();
+        resource.setName(group);
+        resource.setUrl(Docket.DEFAULT_GROUP_NAME.equals(group) ? swagger2Url : swagger2Url + "?group=" + group);
+        resource.setSwaggerVersion(SWAGGER_VERSION);
+        return resource;
+    }
+}
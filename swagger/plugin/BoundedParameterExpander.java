@@ -0,0 +1,267 @@
+package bap.jp.smartfashion.support.swagger.plugin;
+
+import bap.jp.smartfashion.support.swagger.FieldIndex;
+import bap.jp.smartfashion.support.swagger.ResolvedTypeCache;
+import com.fasterxml.classmate.ResolvedType;
+import com.fasterxml.classmate.TypeResolver;
+import com.google.common.collect.ImmutableList;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import springfox.documentation.builders.ParameterBuilder;
+import springfox.documentation.schema.ModelRef;
+import springfox.documentation.service.Parameter;
+import springfox.documentation.spi.schema.EnumTypeDeterminer;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static springfox.documentation.schema.Types.isBaseType;
+import static springfox.documentation.schema.Types.typeNameFor;
+
+/**
+ * Expansion of DTO parameters of Generic Controller with depth limit, cycle detection and parameter cap.
+ * <p>
+ * When enabled, the type graph is walked up to the configured depth before springfox expansion. Types which fit
+ * are left to springfox, otherwise leaf properties within the limits are documented as query parameters and
+ * the rest is collapsed into a single opaque query parameter per operation. Each truncation is logged once.
+ * <p>
+ * Names of collapsed properties are kept by collapsed parameter, and its description is rendered when parameters
+ * of the operation are capped.
+ *
+ * @author hungp
+ */
+@Slf4j
+@Component
+public class BoundedParameterExpander {
+
+    /**
+     * Name of query parameter which collapses properties beyond the limits.
+     */
+    public static final String TRUNCATED = "truncated";
+
+    private static final String TRUNCATED_DESCRIPTION = "Properties not expanded because of expansion limits: ";
+    private static final String SEPARATOR = ", ";
+
+    private final TypeResolver resolver;
+    private final EnumTypeDeterminer enumTypeDeterminer;
+    private final boolean enabled;
+    private final int maxDepth;
+    private final int maxParameters;
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+    private final Map<Parameter, List<String>> collapsedNames = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    public BoundedParameterExpander(TypeResolver resolver,
+                                    EnumTypeDeterminer enumTypeDeterminer,
+                                    @Value("${swagger.generic.expansion.limit.enabled:false}") boolean enabled,
+                                    @Value("${swagger.generic.expansion.limit.max-depth:3}") int maxDepth,
+                                    @Value("${swagger.generic.expansion.limit.max-parameters:100}") int maxParameters) {
+        if (enabled && (maxDepth < 1 || maxParameters < 2)) {
+            throw new IllegalArgumentException("swagger.generic.expansion.limit.max-depth must be at least 1 and "
+                    + "swagger.generic.expansion.limit.max-parameters at least 2, but were " + maxDepth + " and " + maxParameters);
+        }
+        this.resolver = resolver;
+        this.enumTypeDeterminer = enumTypeDeterminer;
+        this.enabled = enabled;
+        this.maxDepth = maxDepth;
+        this.maxParameters = maxParameters;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Expand type within limits.
+     *
+     * @param type Resolved Type of param
+     * @return List parameter, null if type fits within limits and can be expanded by springfox
+     */
+    public List<Parameter> expand(ResolvedType type) {
+        Walk walk = new Walk();
+        Deque<Class<?>> path = new ArrayDeque<>();
+        path.push(type.getErasedType());
+        walk.visit(type.getErasedType(), "", 1, path);
+        if (walk.truncated.isEmpty()) {
+            return null;
+        }
+        report(type.getErasedType().getName(), walk.truncated);
+
+        ImmutableList.Builder<Parameter> parameters = ImmutableList.builder();
+        for (int i = 0; i < walk.leafNames.size(); i++) {
+            parameters.add(leaf(walk.leafNames.get(i), walk.leafFields.get(i)));
+        }
+        Parameter collapsed = collapsed(null);
+        collapsedNames.put(collapsed, ImmutableList.copyOf(walk.truncated));
+        parameters.add(collapsed);
+        return parameters.build();
+    }
+
+    /**
+     * Cap parameters of an operation.
+     *
+     * @param handlerMethod handler method of operation
+     * @param parameters    List parameter
+     * @return parameters within the cap, the rest and the collapsed parameters of expansions merged into a single
+     * opaque parameter
+     */
+    public List<Parameter> cap(HandlerMethod handlerMethod, List<Parameter> parameters) {
+        boolean collapsed = false;
+        for (Parameter parameter : parameters) {
+            if (collapsedNames.containsKey(parameter)) {
+                collapsed = true;
+                break;
+            }
+        }
+        if (parameters.size() <= maxParameters && !collapsed) {
+            return parameters;
+        }
+        int limit = maxParameters - 1;
+        List<Parameter> capped = new ArrayList<>(limit + 1);
+        List<String> truncated = new ArrayList<>();
+        List<String> overCap = new ArrayList<>();
+        for (Parameter parameter : parameters) {
+            List<String> names = collapsedNames.get(parameter);
+            if (null != names) {
+                truncated.addAll(names);
+            } else if (capped.size() < limit) {
+                capped.add(parameter);
+            } else {
+                overCap.add(parameter.getName());
+            }
+        }
+        if (!overCap.isEmpty()) {
+            report(handlerMethod.toString(), overCap);
+            truncated.addAll(overCap);
+        }
+        capped.add(collapsed(truncated));
+        return capped;
+    }
+
+    /**
+     * Forget collapsed parameters of expansions, called when caches of documentation build are cleared.
+     */
+    public void clear() {
+        collapsedNames.clear();
+    }
+
+    /**
+     * Log truncation once.
+     */
+    private void report(String key, List<String> truncated) {
+        if (reported.add(key)) {
+            log.warn("Expansion of {} reached limits (max depth {}, max parameters {}), collapsed {}",
+                    key, maxDepth, maxParameters, truncated);
+        }
+    }
+
+    /**
+     * Build query parameter for leaf property.
+     */
+    private Parameter leaf(String name, Field field) {
+        Class<?> type = field.getType();
+        boolean container = isContainer(type);
+        Class<?> itemType = container ? itemType(field) : type;
+        ModelRef itemRef = new ModelRef(typeNameOf(itemType));
+        return new ParameterBuilder()
+                .name(name)
+                .parameterType("query")
+                .required(false)
+                .allowMultiple(container)
+                .type(ResolvedTypeCache.resolve(resolver, type))
+                .modelRef(container ? new ModelRef("array", itemRef) : itemRef)
+                .build();
+    }
+
+    /**
+     * Build opaque query parameter for collapsed properties, without description if names are not known yet.
+     */
+    private Parameter collapsed(List<String> truncated) {
+        return new ParameterBuilder()
+                .name(TRUNCATED)
+                .description(null == truncated ? null : TRUNCATED_DESCRIPTION + String.join(SEPARATOR, truncated))
+                .parameterType("query")
+                .required(false)
+                .type(ResolvedTypeCache.resolve(resolver, String.class))
+                .modelRef(new ModelRef("string"))
+                .build();
+    }
+
+    private boolean isLeaf(Class<?> type) {
+        return null == type || isBaseType(typeNameFor(type)) || enumTypeDeterminer.isEnum(type) || Map.class.isAssignableFrom(type);
+    }
+
+    private String typeNameOf(Class<?> type) {
+        return null != type && isBaseType(typeNameFor(type)) ? typeNameFor(type) : "string";
+    }
+
+    private static boolean isContainer(Class<?> type) {
+        return type.isArray() || Collection.class.isAssignableFrom(type);
+    }
+
+    /**
+     * Get item type of array or collection field, null if it cannot be determined.
+     */
+    private static Class<?> itemType(Field field) {
+        if (field.getType().isArray()) {
+            return field.getType().getComponentType();
+        }
+        Type genericType = field.getGenericType();
+        if (genericType instanceof ParameterizedType) {
+            Type[] arguments = ((ParameterizedType) genericType).getActualTypeArguments();
+            if (1 == arguments.length && arguments[0] instanceof Class) {
+                return (Class<?>) arguments[0];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Walk of type graph within limits.
+     */
+    private final class Walk {
+
+        private final List<String> leafNames = new ArrayList<>();
+        private final List<Field> leafFields = new ArrayList<>();
+        private final List<String> truncated = new ArrayList<>();
+
+        void visit(Class<?> type, String prefix, int depth, Deque<Class<?>> path) {
+            FieldIndex fields = FieldIndex.of(type);
+            for (int i = 0; i < fields.size(); i++) {
+                Field field = fields.fieldAt(i);
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                String name = prefix + field.getName();
+                Class<?> fieldType = isContainer(field.getType()) ? itemType(field) : field.getType();
+                if (isLeaf(fieldType)) {
+                    if (leafNames.size() < maxParameters - 1) {
+                        leafNames.add(name);
+                        leafFields.add(field);
+                    } else {
+                        truncated.add(name);
+                    }
+                } else if (path.contains(fieldType) || depth >= maxDepth) {
+                    truncated.add(name);
+                } else {
+                    path.push(fieldType);
+                    visit(fieldType, name + ".", depth + 1, path);
+                    path.pop();
+                }
+            }
+        }
+    }
+}
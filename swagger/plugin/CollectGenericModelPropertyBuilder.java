@@ -1,5 +1,6 @@
 package bap.jp.smartfashion.support.swagger.plugin;
 
+import bap.jp.smartfashion.support.swagger.GenericOperationDescriptor;
 import com.fasterxml.classmate.ResolvedType;
 import com.fasterxml.classmate.TypeResolver;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +15,8 @@ import springfox.documentation.spi.service.OperationModelsProviderPlugin;
 import springfox.documentation.spi.service.contexts.RequestMappingContext;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static springfox.documentation.schema.ResolvedTypes.resolvedTypeSignature;
 
@@ -27,27 +30,37 @@ import static springfox.documentation.schema.ResolvedTypes.resolvedTypeSignature
 @Component
 public class CollectGenericModelPropertyBuilder extends GenericSwaggerPlugin implements OperationModelsProviderPlugin {
 
+    private final Set<String> groupsWithGlobalModels = ConcurrentHashMap.newKeySet();
+
     public CollectGenericModelPropertyBuilder(TypeResolver resolver) {
         super(resolver);
     }
 
     @Override
     public void apply(RequestMappingContext context) {
+        long start = System.nanoTime();
         RequestHandler handler = getRequestHandler(context);
+        GenericOperationDescriptor descriptor = getDescriptor(handler);
 
-        if (haveConfigurationEntityClass(handler)) {
-            collectFromReturnType(context);
-            collectParameters(context);
+        if (descriptor.isGeneric()) {
+            collectFromReturnType(context, descriptor);
+            collectParameters(context, descriptor);
             collectGlobalModels(context);
         }
+        record(start, handler, descriptor);
     }
 
     /**
      * Collect Global Models.
+     * Models of the documentation group end up in the same definitions whichever operation registers them,
+     * so they are registered once per documentation group instead of once per operation.
      *
      * @param context Request context
      */
     private void collectGlobalModels(RequestMappingContext context) {
+        if (context.getAdditionalModels().isEmpty() || !groupsWithGlobalModels.add(context.getGroupName())) {
+            return;
+        }
         for (ResolvedType each : context.getAdditionalModels()) {
             context.operationModelsBuilder().addInputParam(each);
             context.operationModelsBuilder().addReturn(each);
@@ -57,10 +70,11 @@ public class CollectGenericModelPropertyBuilder extends GenericSwaggerPlugin imp
     /**
      * Collect Response Model.
      *
-     * @param context Request context
+     * @param context    Request context
+     * @param descriptor Generic operation descriptor
      */
-    private void collectFromReturnType(RequestMappingContext context) {
-        ResolvedType responseModelType = buildResolveTypeForResponseObject(context);
+    private void collectFromReturnType(RequestMappingContext context, GenericOperationDescriptor descriptor) {
+        ResolvedType responseModelType = buildResolveTypeForResponseObject(descriptor);
         if (null == responseModelType) {
             responseModelType = context.getReturnType();
         }
@@ -72,15 +86,16 @@ public class CollectGenericModelPropertyBuilder extends GenericSwaggerPlugin imp
     /**
      * Collect Parameters.
      *
-     * @param context Request context
+     * @param context    Request context
+     * @param descriptor Generic operation descriptor
      */
-    private void collectParameters(RequestMappingContext context) {
+    private void collectParameters(RequestMappingContext context, GenericOperationDescriptor descriptor) {
         log.debug("Reading parameters models for handlerMethod |{}|", context.getName());
         List<ResolvedMethodParameter> parameterTypes = context.getParameters();
         for (ResolvedMethodParameter parameterType : parameterTypes) {
             if (parameterType.hasParameterAnnotation(RequestBody.class)
                     || parameterType.hasParameterAnnotation(RequestPart.class)) {
-                ResolvedType modelType = buildResolveTypeForRequestObject(context);
+                ResolvedType modelType = buildResolveTypeForRequestObject(descriptor);
                 if (null != modelType) {
                     modelType = context.alternateFor(modelType);
                 } else {
@@ -93,6 +108,11 @@ public class CollectGenericModelPropertyBuilder extends GenericSwaggerPlugin imp
         log.debug("Finished reading parameters models for handlerMethod |{}|", context.getName());
     }
 
+    @Override
+    public void clearCaches() {
+        groupsWithGlobalModels.clear();
+    }
+
     @Override
     public boolean supports(DocumentationType documentationType) {
         return true;
@@ -0,0 +1,68 @@
+package bap.jp.smartfashion.support.swagger.plugin;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * Accessor of private field of springfox context.
+ * <p>
+ * Field is looked up once and read through a cached method handle. If the field cannot be found,
+ * a single warning is logged and accessor always returns null.
+ *
+ * @author hungp
+ */
+@Slf4j
+public final class ContextFieldAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final String name;
+    private final MethodHandle getter;
+
+    private ContextFieldAccessor(String name, MethodHandle getter) {
+        this.name = name;
+        this.getter = getter;
+    }
+
+    /**
+     * Create accessor for private field of context class.
+     *
+     * @param contextClass context class
+     * @param fieldName    field name
+     * @return field accessor
+     */
+    public static ContextFieldAccessor of(Class<?> contextClass, String fieldName) {
+        String name = contextClass.getSimpleName() + "." + fieldName;
+        try {
+            Field field = contextClass.getDeclaredField(fieldName);
+            field.setAccessible(true);
+            return new ContextFieldAccessor(name, MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE));
+        } catch (NoSuchFieldException | IllegalAccessException | RuntimeException e) {
+            log.warn("Cannot access field {}, generic swagger plugins are disabled: {}", name, e.getMessage());
+            return new ContextFieldAccessor(name, null);
+        }
+    }
+
+    /**
+     * Get value of field.
+     *
+     * @param target context object
+     * @param type   type of field
+     * @param <T>    type of field
+     * @return value of field, null if field is not accessible
+     */
+    public <T> T get(Object target, Class<T> type) {
+        if (null == getter || null == target) {
+            return null;
+        }
+        try {
+            return type.cast((Object) getter.invokeExact(target));
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot read field " + name, e);
+        }
+    }
+}
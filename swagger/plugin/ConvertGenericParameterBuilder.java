@@ -2,6 +2,8 @@ package bap.jp.smartfashion.support.swagger.plugin;
 
 import bap.jp.smartfashion.support.httpdefault.DefaultHttpService;
 import bap.jp.smartfashion.support.httpdefault.annotation.dto.ReadResponseClassDTO;
+import bap.jp.smartfashion.support.swagger.GenericOperationDescriptor;
+import bap.jp.smartfashion.support.swagger.PaginationMode;
 import com.fasterxml.classmate.ResolvedType;
 import com.fasterxml.classmate.TypeResolver;
 import io.swagger.annotations.ApiModelProperty;
@@ -10,7 +12,9 @@ import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.annotation.RequestBody;
 import springfox.documentation.RequestHandler;
+import springfox.documentation.schema.ModelReference;
 import springfox.documentation.schema.TypeNameExtractor;
+import springfox.documentation.service.AllowableListValues;
 import springfox.documentation.service.ResolvedMethodParameter;
 import springfox.documentation.spi.DocumentationType;
 import springfox.documentation.spi.schema.contexts.ModelContext;
@@ -18,6 +22,9 @@ import springfox.documentation.spi.service.ParameterBuilderPlugin;
 import springfox.documentation.spi.service.contexts.ParameterContext;
 import springfox.documentation.spring.web.DescriptionResolver;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import static springfox.documentation.schema.ResolvedTypes.modelRefFactory;
 import static springfox.documentation.spi.schema.contexts.ModelContext.inputParam;
 
@@ -33,6 +40,7 @@ public class ConvertGenericParameterBuilder extends GenericSwaggerPlugin impleme
 
     private final TypeNameExtractor nameExtractor;
     private final DescriptionResolver descriptions;
+    private final ConcurrentMap<GroupKey, ModelReference> modelReferences = new ConcurrentHashMap<>();
 
     public ConvertGenericParameterBuilder(TypeNameExtractor nameExtractor, TypeResolver resolver, DescriptionResolver descriptions) {
         super(resolver);
@@ -42,26 +50,43 @@ public class ConvertGenericParameterBuilder extends GenericSwaggerPlugin impleme
 
     @Override
     public void apply(ParameterContext context) {
+        long start = System.nanoTime();
         RequestHandler handler = getRequestHandler(context);
-        if (haveConfigurationEntityClass(handler)) {
-            ResolvedType requestResolvedType = buildResolveTypeForRequestObject(context);
+        GenericOperationDescriptor descriptor = getDescriptor(handler);
+        if (descriptor.isGeneric()) {
+            ResolvedType requestResolvedType = buildResolveTypeForRequestObject(descriptor);
 
             if (null != requestResolvedType && shouldConvert(context.resolvedMethodParameter())) {
-                ModelContext modelContext = inputParam(
-                        context.getGroupName(),
-                        requestResolvedType,
-                        context.getDocumentationType(),
-                        context.getAlternateTypeProvider(),
-                        context.getGenericNamingStrategy(),
-                        context.getIgnorableParameterTypes());
-
                 context.parameterBuilder()
                         .type(requestResolvedType)
-                        .modelRef(modelRefFactory(modelContext, nameExtractor).apply(requestResolvedType));
+                        .modelRef(getModelReference(context, requestResolvedType));
             } else if (null != context.resolvedMethodParameter()) {
-                overrideQueryParamForGetMethod(context, context.resolvedMethodParameter());
+                overrideQueryParamForGetMethod(context, descriptor, context.resolvedMethodParameter());
             }
         }
+        record(start, handler, descriptor);
+    }
+
+    /**
+     * Get model reference of request type.
+     * Request type is shared by all dockets, only its model reference depends on model naming of documentation
+     * group, so it is built once per documentation group and request type.
+     *
+     * @param context             Parameter Context
+     * @param requestResolvedType request type
+     * @return model reference
+     */
+    private ModelReference getModelReference(ParameterContext context, ResolvedType requestResolvedType) {
+        return modelReferences.computeIfAbsent(new GroupKey(context.getGroupName(), requestResolvedType), key -> {
+            ModelContext modelContext = inputParam(
+                    context.getGroupName(),
+                    requestResolvedType,
+                    context.getDocumentationType(),
+                    context.getAlternateTypeProvider(),
+                    context.getGenericNamingStrategy(),
+                    context.getIgnorableParameterTypes());
+            return modelRefFactory(modelContext, nameExtractor).apply(requestResolvedType);
+        });
     }
 
     /**
@@ -81,9 +106,11 @@ public class ConvertGenericParameterBuilder extends GenericSwaggerPlugin impleme
      * Override type and description of param for Get and Get All method.
      *
      * @param context                 Parameter Context
+     * @param descriptor              Generic operation descriptor
      * @param resolvedMethodParameter Resolved Method Parameter
      */
-    private void overrideQueryParamForGetMethod(ParameterContext context, ResolvedMethodParameter resolvedMethodParameter) {
+    private void overrideQueryParamForGetMethod(ParameterContext context, GenericOperationDescriptor descriptor,
+                                                ResolvedMethodParameter resolvedMethodParameter) {
         if (null != resolvedMethodParameter && resolvedMethodParameter.hasParameterAnnotation(ReadResponseClassDTO.class)) {
             context.parameterBuilder().parameterType("query");
             ApiModelProperty apiModelProperty = resolvedMethodParameter.findAnnotation(ApiModelProperty.class).orNull();
@@ -91,10 +118,17 @@ public class ConvertGenericParameterBuilder extends GenericSwaggerPlugin impleme
                 context.parameterBuilder().description(apiModelProperty.value());
             } else if (DefaultHttpService.PAGE.equals(context.resolvedMethodParameter().defaultName().orNull())) {
                 context.parameterBuilder().description("Page");
+            } else if (QueryParameterSkeletons.CURSOR.equals(context.resolvedMethodParameter().defaultName().orNull())) {
+                context.parameterBuilder().description("Cursor, nextCursor of previous page");
             } else if (DefaultHttpService.LIMIT.equals(context.resolvedMethodParameter().defaultName().orNull())) {
                 context.parameterBuilder().description("Limit");
             } else if (DefaultHttpService.FILTER.equals(context.resolvedMethodParameter().defaultName().orNull())) {
                 context.parameterBuilder().description("Filter by properties of DTO");
+            } else if (PaginationMode.KEYSET == descriptor.getPagination()
+                    && DefaultHttpService.ORDER_BY.equals(context.resolvedMethodParameter().defaultName().orNull())) {
+                context.parameterBuilder()
+                        .description("Sort key")
+                        .allowableValues(new AllowableListValues(QueryParameterSkeletons.getSortKeys(descriptor), "string"));
             }
         }
     }
@@ -103,4 +137,9 @@ public class ConvertGenericParameterBuilder extends GenericSwaggerPlugin impleme
     public boolean supports(DocumentationType documentationType) {
         return true;
     }
+
+    @Override
+    public void clearCaches() {
+        modelReferences.clear();
+    }
 }
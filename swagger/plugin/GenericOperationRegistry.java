@@ -0,0 +1,137 @@
+package bap.jp.smartfashion.support.swagger.plugin;
+
+import bap.jp.smartfashion.support.swagger.GenericOperationDescriptor;
+import bap.jp.smartfashion.support.swagger.GenericOperationKind;
+import bap.jp.smartfashion.support.swagger.ResolvedTypeCache;
+import bap.jp.smartfashion.support.swagger.SwaggerEntity;
+import bap.jp.smartfashion.support.swagger.ThreadAllocation;
+import com.fasterxml.classmate.TypeResolver;
+import com.google.common.collect.ImmutableMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfoHandlerMapping;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Registry of Generic Controller operations.
+ * <p>
+ * Run right before springfox documentation is built (see {@code DocumentationBuildInterceptor}): find every handler method of controllers annotated with
+ * {@link SwaggerEntity} and resolve its descriptor, DTO types and query parameter skeletons in parallel on a
+ * fork-join pool. The result is published to {@link GenericSwaggerPlugin} as an immutable map which the plugins
+ * only read.
+ *
+ * @author hungp
+ */
+@Slf4j
+@Component
+public class GenericOperationRegistry {
+
+    private static final long TERMINATION_TIMEOUT_SECONDS = 10;
+
+    private final List<RequestMappingInfoHandlerMapping> handlerMappings;
+    private final TypeResolver resolver;
+    private final boolean enabled;
+    private final int parallelism;
+
+    public GenericOperationRegistry(List<RequestMappingInfoHandlerMapping> handlerMappings,
+                                    TypeResolver resolver,
+                                    @Value("${swagger.generic.pre-index.enabled:true}") boolean enabled,
+                                    @Value("${swagger.generic.pre-index.parallelism:0}") int parallelism) {
+        this.handlerMappings = handlerMappings;
+        this.resolver = resolver;
+        this.enabled = enabled;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Index generic operations and publish their descriptors to the plugins.
+     */
+    public void index() {
+        if (enabled) {
+            long start = System.currentTimeMillis();
+            Map<HandlerMethod, GenericOperationDescriptor> descriptors = describeAll();
+            GenericSwaggerPlugin.registerDescriptors(descriptors);
+            log.info("Indexed {} generic operations in {} ms", descriptors.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Resolve descriptors of all generic handler methods in parallel.
+     *
+     * @return immutable map of handler method and descriptor
+     */
+    private Map<HandlerMethod, GenericOperationDescriptor> describeAll() {
+        ForkJoinPool pool = new ForkJoinPool(parallelism, ThreadAllocation.workerThreadFactory(), null, false);
+        try {
+            return pool.submit(() -> handlerMappings.stream()
+                    .flatMap(mapping -> mapping.getHandlerMethods().values().stream())
+                    .distinct()
+                    .collect(Collectors.toList())
+                    .parallelStream()
+                    .filter(handlerMethod -> null != AnnotationUtils.findAnnotation(handlerMethod.getBeanType(), SwaggerEntity.class))
+                    .collect(Collectors.collectingAndThen(
+                            Collectors.toMap(Function.identity(), this::describe), ImmutableMap::copyOf)))
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Indexing generic operations was interrupted");
+        } catch (ExecutionException e) {
+            // Invalid configuration, e.g. unsortable sort key, fails the build instead of failing again lazily
+            if (e.getCause() instanceof IllegalStateException) {
+                throw (IllegalStateException) e.getCause();
+            }
+            log.warn("Cannot index generic operations, falling back to lazy discovery", e.getCause());
+        } finally {
+            shutdown(pool);
+        }
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Shut pool down and wait for workers to terminate, so their allocation is recorded.
+     */
+    private static void shutdown(ForkJoinPool pool) {
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(TERMINATION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Workers of generic operation index didn't terminate in {} s", TERMINATION_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Resolve descriptor of handler method and warm up its types and query parameter skeletons.
+     *
+     * @param handlerMethod handler method
+     * @return descriptor
+     */
+    private GenericOperationDescriptor describe(HandlerMethod handlerMethod) {
+        GenericOperationDescriptor descriptor = GenericOperationDescriptor.of(handlerMethod);
+        if (null != descriptor.getRequestDtoClass()) {
+            ResolvedTypeCache.resolve(resolver, descriptor.getRequestDtoClass());
+        }
+        if (null != descriptor.getResponseDtoClass()) {
+            ResolvedTypeCache.resolve(resolver, descriptor.getResponseDtoClass());
+            if (null != descriptor.getResponseWrapperClass()) {
+                ResolvedTypeCache.resolve(resolver, descriptor.getResponseWrapperClass(), descriptor.getResponseDtoClass());
+            }
+        }
+        if (descriptor.isAnyOf(GenericOperationKind.READ, GenericOperationKind.READ_ALL)) {
+            QueryParameterSkeletons.get(resolver, descriptor);
+        }
+        return descriptor;
+    }
+}
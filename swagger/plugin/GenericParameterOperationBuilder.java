@@ -1,18 +1,11 @@
 package bap.jp.smartfashion.support.swagger.plugin;
 
-import bap.jp.smartfashion.common.base.BaseModel;
-import bap.jp.smartfashion.support.httpdefault.ConvertUtils;
-import bap.jp.smartfashion.support.httpdefault.DefaultHttpService;
-import bap.jp.smartfashion.support.httpdefault.annotation.dto.ReadResponseClassDTO;
-import bap.jp.smartfashion.support.swagger.SwaggerGenericReadAllMethod;
-import bap.jp.smartfashion.support.swagger.SwaggerGenericReadMethod;
-import bap.jp.smartfashion.util.ObjectUtils;
+import bap.jp.smartfashion.support.swagger.GenericOperationDescriptor;
+import bap.jp.smartfashion.support.swagger.GenericOperationKind;
 import com.fasterxml.classmate.ResolvedType;
 import com.fasterxml.classmate.TypeResolver;
-import com.google.common.base.Predicate;
-import com.google.common.collect.FluentIterable;
+import com.google.common.collect.ImmutableList;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -26,6 +19,7 @@ import springfox.documentation.service.ResolvedMethodParameter;
 import springfox.documentation.spi.DocumentationType;
 import springfox.documentation.spi.schema.EnumTypeDeterminer;
 import springfox.documentation.spi.service.OperationBuilderPlugin;
+import springfox.documentation.spi.service.contexts.DocumentationContext;
 import springfox.documentation.spi.service.contexts.OperationContext;
 import springfox.documentation.spi.service.contexts.ParameterContext;
 import springfox.documentation.spring.web.plugins.DocumentationPluginsManager;
@@ -33,13 +27,13 @@ import springfox.documentation.spring.web.readers.parameter.ExpansionContext;
 import springfox.documentation.spring.web.readers.parameter.ModelAttributeParameterExpander;
 
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-import static com.google.common.base.Predicates.not;
-import static com.google.common.collect.Lists.newArrayList;
 import static springfox.documentation.schema.Collections.isContainerType;
 import static springfox.documentation.schema.Maps.isMapType;
 import static springfox.documentation.schema.Types.isBaseType;
@@ -58,86 +52,73 @@ public class GenericParameterOperationBuilder extends GenericSwaggerPlugin imple
     private final ModelAttributeParameterExpander expander;
     private final EnumTypeDeterminer enumTypeDeterminer;
     private final DocumentationPluginsManager pluginsManager;
+    private final BoundedParameterExpander boundedExpander;
+    private final ConcurrentMap<QueryParameterKey, List<Parameter>> queryParameters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<DocumentationContext, IgnorableParameterTypes> ignorableParameterTypes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ResolvedType, Optional<List<Parameter>>> boundedExpansions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<GroupKey, List<Parameter>> expansions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<CommonParameterKey, List<Parameter>> commonParameters = new ConcurrentHashMap<>();
 
     public GenericParameterOperationBuilder(TypeResolver resolver,
                                             ModelAttributeParameterExpander expander,
                                             EnumTypeDeterminer enumTypeDeterminer,
-                                            DocumentationPluginsManager pluginsManager) {
+                                            DocumentationPluginsManager pluginsManager,
+                                            BoundedParameterExpander boundedExpander) {
         super(resolver);
         this.expander = expander;
         this.enumTypeDeterminer = enumTypeDeterminer;
         this.pluginsManager = pluginsManager;
+        this.boundedExpander = boundedExpander;
     }
 
     @Override
     public void apply(OperationContext context) {
+        long start = System.nanoTime();
         RequestHandler handler = getRequestHandler(context);
+        GenericOperationDescriptor descriptor = getDescriptor(handler);
 
-        if (haveConfigurationEntityClass(handler) &&
-                hasAnyAnnotation(handler, SwaggerGenericReadMethod.class, SwaggerGenericReadAllMethod.class)) {
-            List<ResolvedMethodParameter> resolvedMethodParameters = buildResolvedMethodParameter(handler);
+        if (descriptor.isGeneric() && descriptor.isAnyOf(GenericOperationKind.READ, GenericOperationKind.READ_ALL)) {
+            List<Parameter> parameters = new ArrayList<>(getGeneratedParameters(context, descriptor));
+            parameters.addAll(readParameters(context, context.getParameters()));
 
             context.operationBuilder().parameters(context.getGlobalOperationParameters());
-            context.operationBuilder().parameters(readParameters(context, resolvedMethodParameters));
+            context.operationBuilder().parameters(boundedExpander.isEnabled() ? boundedExpander.cap(handler.getHandlerMethod(), parameters) : parameters);
         }
+        record(start, handler, descriptor);
     }
 
     /**
-     * Build Resolved Method Parameter.
+     * Get parameters generated from entity and DTO.
      *
-     * @param handler Request handler
-     * @return List Resolved Method parameter
+     * @param context    Operation Context
+     * @param descriptor Generic operation descriptor
+     * @return List parameter
      */
-    private List<ResolvedMethodParameter> buildResolvedMethodParameter(RequestHandler handler) {
-        int index = 0;
-        List<ResolvedMethodParameter> resolvedMethodParameters = new ArrayList<>();
-
-        ReadResponseClassDTO responseClassDTO = AnnotatedElementUtils.findMergedAnnotation(getEntityClass(handler), ReadResponseClassDTO.class);
-
-        if (hasAnyAnnotation(handler, SwaggerGenericReadAllMethod.class) && null != responseClassDTO) {
-            Class<? extends BaseModel> entityClass = getEntityClass(handler);
-            List<Field> entityFields = ObjectUtils.getFields(entityClass);
-            // Add param page
-            ResolvedMethodParameter page = new ResolvedMethodParameter(index++, DefaultHttpService.PAGE,
-                    ObjectUtils.getAnnotationOfField(null), resolver.resolve(int.class));
-            resolvedMethodParameters.add(page.annotate(responseClassDTO));
-            // Add param limit
-            ResolvedMethodParameter limit = new ResolvedMethodParameter(index++, DefaultHttpService.LIMIT,
-                    ObjectUtils.getAnnotationOfField(null), resolver.resolve(int.class));
-            resolvedMethodParameters.add(limit.annotate(responseClassDTO));
-
-            List<Field> fields = ObjectUtils.getFields(responseClassDTO.value());
-            for (Field field : fields) {
-                // Find entity Field
-                Field entityField = ConvertUtils.findFieldByMapFieldFrom(entityFields, field.getName());
-
-                // Build Resolve Type
-                ResolvedType queryParamType;
-                if (null != entityField && (ConvertUtils.isPKField(entityField) || ConvertUtils.isFKField(entityField))) {
-                    queryParamType = resolver.resolve(List.class, field.getType());
-                } else if (ConvertUtils.isNumber(field)) {
-                    queryParamType = resolver.resolve(String.class);
-                } else {
-                    queryParamType = resolver.resolve(field.getType());
-                }
-
-                ResolvedMethodParameter resolvedMethodParameter = new ResolvedMethodParameter(index++, field.getName(),
-                        ObjectUtils.getAnnotationOfField(field), queryParamType);
+    private List<Parameter> getGeneratedParameters(OperationContext context, GenericOperationDescriptor descriptor) {
+        QueryParameterKey key = new QueryParameterKey(descriptor, context.getGroupName());
+        return GenericSwaggerMetrics.cached(GenericSwaggerMetrics.QUERY_PARAMETERS, queryParameters, key,
+                k -> buildGeneratedParameters(context, descriptor));
+    }
 
-                resolvedMethodParameters.add(resolvedMethodParameter.annotate(responseClassDTO));
+    /**
+     * Build parameters from query parameter skeletons, sharing common parameters between entities.
+     *
+     * @param context    Operation Context
+     * @param descriptor Generic operation descriptor
+     * @return List parameter
+     */
+    private List<Parameter> buildGeneratedParameters(OperationContext context, GenericOperationDescriptor descriptor) {
+        ImmutableList.Builder<Parameter> parameters = ImmutableList.builder();
+        for (ResolvedMethodParameter skeleton : QueryParameterSkeletons.get(resolver, descriptor)) {
+            if (QueryParameterSkeletons.isCommon(descriptor, skeleton)) {
+                CommonParameterKey key = new CommonParameterKey(context.getGroupName(), skeleton);
+                parameters.addAll(GenericSwaggerMetrics.cached(GenericSwaggerMetrics.COMMON_PARAMETERS, commonParameters, key,
+                        k -> readParameters(context, ImmutableList.of(skeleton))));
+            } else {
+                parameters.addAll(readParameters(context, ImmutableList.of(skeleton)));
             }
-
-            // Add param orderBy
-            ResolvedMethodParameter orderBy = new ResolvedMethodParameter(index++, DefaultHttpService.ORDER_BY,
-                    ObjectUtils.getAnnotationOfField(null), resolver.resolve(String.class));
-            resolvedMethodParameters.add(orderBy.annotate(responseClassDTO));
         }
-        // Add param filter
-        ResolvedMethodParameter filter = new ResolvedMethodParameter(index, DefaultHttpService.FILTER,
-                ObjectUtils.getAnnotationOfField(null), resolver.resolve(String[].class));
-        resolvedMethodParameters.add(filter.annotate(responseClassDTO));
-
-        return resolvedMethodParameters;
+        return parameters.build();
     }
 
     /**
@@ -148,76 +129,80 @@ public class GenericParameterOperationBuilder extends GenericSwaggerPlugin imple
      * @return List parameter
      */
     private List<Parameter> readParameters(final OperationContext context, List<ResolvedMethodParameter> methodParameters) {
-        methodParameters.addAll(context.getParameters());
-        List<Parameter> parameters = newArrayList();
+        IgnorableParameterTypes ignorableParamTypes = GenericSwaggerMetrics.cached(GenericSwaggerMetrics.IGNORABLE_PARAMETER_TYPES,
+                ignorableParameterTypes, context.getDocumentationContext(), documentationContext -> IgnorableParameterTypes.of(context.getIgnorableParameterTypes()));
+        ImmutableList.Builder<Parameter> parameters = ImmutableList.builder();
 
         for (ResolvedMethodParameter methodParameter : methodParameters) {
             ResolvedType alternate = context.alternateFor(methodParameter.getParameterType());
-            if (!shouldIgnore(methodParameter, alternate, context.getIgnorableParameterTypes())) {
+            if (shouldIgnore(methodParameter, alternate, ignorableParamTypes)) {
+                continue;
+            }
+            if (shouldExpand(methodParameter, alternate)) {
+                for (Parameter parameter : expand(context, alternate)) {
+                    addIfVisible(parameters, parameter);
+                }
+            } else {
                 ParameterContext parameterContext = new ParameterContext(methodParameter,
                         new ParameterBuilder(),
                         context.getDocumentationContext(),
                         context.getGenericsNamingStrategy(),
                         context);
-
-                if (shouldExpand(methodParameter, alternate)) {
-                    parameters.addAll(
-                            expander.expand(
-                                    new ExpansionContext("", alternate, context.getDocumentationContext())));
-                } else {
-                    parameters.add(pluginsManager.parameter(parameterContext));
-                }
+                addIfVisible(parameters, pluginsManager.parameter(parameterContext));
             }
         }
-        return FluentIterable.from(parameters).filter(not(hiddenParams())).toList();
+        return parameters.build();
     }
 
     /**
-     * Check param is hidden.
+     * Expand param type into parameters.
+     * Bounded expansion only depends on the type, so it is shared by all documentation groups; springfox expansion
+     * depends on alternate types and model naming of the docket, so it is cached per documentation group.
+     *
+     * @param context   Operation Context
+     * @param alternate Resolved Type of param
+     * @return List parameter
      */
-    private Predicate<Parameter> hiddenParams() {
-        return Parameter::isHidden;
+    private List<Parameter> expand(OperationContext context, ResolvedType alternate) {
+        if (boundedExpander.isEnabled()) {
+            Optional<List<Parameter>> bounded = GenericSwaggerMetrics.cached(GenericSwaggerMetrics.BOUNDED_EXPANSIONS,
+                    boundedExpansions, alternate,
+                    type -> Optional.ofNullable(boundedExpander.expand(type)));
+            if (bounded.isPresent()) {
+                return bounded.get();
+            }
+        }
+        return GenericSwaggerMetrics.cached(GenericSwaggerMetrics.EXPANSIONS, expansions,
+                new GroupKey(context.getGroupName(), alternate), key -> ImmutableList.copyOf(
+                expander.expand(new ExpansionContext("", alternate, context.getDocumentationContext()))));
     }
 
     /**
-     * Check param should ignore.
+     * Add param if it is not hidden.
      */
-    private boolean shouldIgnore(
-            final ResolvedMethodParameter parameter,
-            ResolvedType resolvedParameterType,
-            final Set<Class> ignorableParamTypes) {
-
-        if (ignorableParamTypes.contains(resolvedParameterType.getErasedType())) {
-            return true;
+    private void addIfVisible(ImmutableList.Builder<Parameter> parameters, Parameter parameter) {
+        if (!parameter.isHidden()) {
+            parameters.add(parameter);
         }
-        return FluentIterable.from(ignorableParamTypes)
-                .filter(isAnnotation())
-                .filter(parameterIsAnnotatedWithIt(parameter)).size() > 0;
-
     }
 
     /**
-     * Check param has annotation.
+     * Check param should ignore.
      */
-    private Predicate<Class> parameterIsAnnotatedWithIt(final ResolvedMethodParameter parameter) {
-        return parameter::hasParameterAnnotation;
-    }
+    private boolean shouldIgnore(
+            final ResolvedMethodParameter parameter,
+            ResolvedType resolvedParameterType,
+            final IgnorableParameterTypes ignorableParamTypes) {
 
-    /**
-     * Check param is annotation.
-     */
-    private Predicate<Class> isAnnotation() {
-        return Annotation.class::isAssignableFrom;
+        return ignorableParamTypes.isIgnoredType(resolvedParameterType.getErasedType())
+                || ignorableParamTypes.hasIgnoredAnnotation(parameter.getAnnotations());
     }
 
     /**
      * Check should expand param.
      */
     private boolean shouldExpand(final ResolvedMethodParameter parameter, ResolvedType resolvedParamType) {
-        return !parameter.hasParameterAnnotation(RequestBody.class)
-                && !parameter.hasParameterAnnotation(RequestPart.class)
-                && !parameter.hasParameterAnnotation(RequestParam.class)
-                && !parameter.hasParameterAnnotation(PathVariable.class)
+        return !hasBindingAnnotation(parameter.getAnnotations())
                 && !isBaseType(typeNameFor(resolvedParamType.getErasedType()))
                 && !enumTypeDeterminer.isEnum(resolvedParamType.getErasedType())
                 && !isContainerType(resolvedParamType)
@@ -225,8 +210,101 @@ public class GenericParameterOperationBuilder extends GenericSwaggerPlugin imple
 
     }
 
+    /**
+     * Check param has RequestBody, RequestPart, RequestParam or PathVariable annotation.
+     */
+    private boolean hasBindingAnnotation(List<Annotation> annotations) {
+        for (int i = 0; i < annotations.size(); i++) {
+            Annotation annotation = annotations.get(i);
+            if (null != annotation) {
+                Class<? extends Annotation> annotationType = annotation.annotationType();
+                if (RequestBody.class == annotationType
+                        || RequestPart.class == annotationType
+                        || RequestParam.class == annotationType
+                        || PathVariable.class == annotationType) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     @Override
     public boolean supports(DocumentationType documentationType) {
         return true;
     }
+
+    @Override
+    public void clearCaches() {
+        queryParameters.clear();
+        ignorableParameterTypes.clear();
+        boundedExpansions.clear();
+        boundedExpander.clear();
+        expansions.clear();
+        commonParameters.clear();
+    }
+
+    /**
+     * Cache key of generated parameters.
+     */
+    private static final class QueryParameterKey {
+
+        private final GenericOperationDescriptor descriptor;
+        private final String groupName;
+
+        QueryParameterKey(GenericOperationDescriptor descriptor, String groupName) {
+            this.descriptor = descriptor;
+            this.groupName = groupName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof QueryParameterKey)) {
+                return false;
+            }
+            QueryParameterKey key = (QueryParameterKey) o;
+            return descriptor.equals(key.descriptor) && Objects.equals(groupName, key.groupName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(descriptor, groupName);
+        }
+    }
+
+    /**
+     * Cache key of parameters common to all entities.
+     */
+    private static final class CommonParameterKey {
+
+        private final String groupName;
+        private final String name;
+        private final ResolvedType type;
+
+        CommonParameterKey(String groupName, ResolvedMethodParameter parameter) {
+            this.groupName = groupName;
+            this.name = parameter.defaultName().orNull();
+            this.type = parameter.getParameterType();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CommonParameterKey)) {
+                return false;
+            }
+            CommonParameterKey key = (CommonParameterKey) o;
+            return Objects.equals(groupName, key.groupName) && Objects.equals(name, key.name) && type.equals(key.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(groupName, name, type);
+        }
+    }
 }
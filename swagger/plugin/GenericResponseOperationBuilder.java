@@ -1,13 +1,16 @@
 package bap.jp.smartfashion.support.swagger.plugin;
 
+import bap.jp.smartfashion.support.swagger.GenericOperationDescriptor;
 import com.fasterxml.classmate.ResolvedType;
 import com.fasterxml.classmate.TypeResolver;
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableSet;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.method.HandlerMethod;
 import springfox.documentation.RequestHandler;
 import springfox.documentation.builders.ResponseMessageBuilder;
 import springfox.documentation.schema.ModelReference;
@@ -19,9 +22,10 @@ import springfox.documentation.spi.service.OperationBuilderPlugin;
 import springfox.documentation.spi.service.contexts.OperationContext;
 import springfox.documentation.swagger.common.SwaggerPluginSupport;
 
-import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-import static com.google.common.collect.Sets.newHashSet;
 import static springfox.documentation.schema.ResolvedTypes.modelRefFactory;
 import static springfox.documentation.schema.Types.isVoid;
 
@@ -36,6 +40,9 @@ import static springfox.documentation.schema.Types.isVoid;
 public class GenericResponseOperationBuilder extends GenericSwaggerPlugin implements OperationBuilderPlugin {
 
     private final TypeNameExtractor nameExtractor;
+    private final ConcurrentMap<GroupKey, Set<ResponseMessage>> globalResponseMessages = new ConcurrentHashMap<>();
+    private final ConcurrentMap<GroupKey, ModelReference> modelReferences = new ConcurrentHashMap<>();
+    private final ConcurrentMap<HandlerMethod, Status> statuses = new ConcurrentHashMap<>();
 
     public GenericResponseOperationBuilder(TypeNameExtractor nameExtractor, TypeResolver resolver) {
         super(resolver);
@@ -44,30 +51,62 @@ public class GenericResponseOperationBuilder extends GenericSwaggerPlugin implem
 
     @Override
     public void apply(OperationContext context) {
+        long start = System.nanoTime();
         RequestHandler handler = getRequestHandler(context);
-        if (haveConfigurationEntityClass(handler)) {
-            ResolvedType responseResolveType = buildResolveTypeForResponseObject(context);
+        GenericOperationDescriptor descriptor = getDescriptor(handler);
+        if (descriptor.isGeneric()) {
+            ResolvedType responseResolveType = buildResolveTypeForResponseObject(descriptor);
 
             if (null != responseResolveType) {
-                List<ResponseMessage> responseMessages = context.getGlobalResponseMessages(context.httpMethod().toString());
-                context.operationBuilder().responseMessages(newHashSet(responseMessages));
-                applyReturnTypeOverride(context, responseResolveType);
+                context.operationBuilder().responseMessages(getGlobalResponseMessages(context));
+                applyReturnTypeOverride(context, handler, responseResolveType);
             }
         }
+        record(start, handler, descriptor);
+    }
+
+    /**
+     * Get global response messages, built once per documentation group and http method.
+     *
+     * @param context Operation Context
+     * @return immutable set of response message
+     */
+    private Set<ResponseMessage> getGlobalResponseMessages(OperationContext context) {
+        String httpMethod = context.httpMethod().toString();
+        return GenericSwaggerMetrics.cached(GenericSwaggerMetrics.RESPONSE_MESSAGES, globalResponseMessages,
+                new GroupKey(context.getGroupName(), httpMethod),
+                key -> ImmutableSet.copyOf(context.getGlobalResponseMessages(httpMethod)));
     }
 
     /**
      * Override Response type.
      *
      * @param context      Operation Context
+     * @param handler      Request Handler
      * @param resolvedType Resolved Type
      */
-    private void applyReturnTypeOverride(OperationContext context, ResolvedType resolvedType) {
+    private void applyReturnTypeOverride(OperationContext context, RequestHandler handler, ResolvedType resolvedType) {
         ResolvedType returnType = context.alternateFor(resolvedType);
-        int httpStatusCode = httpStatusCode(context);
-        String message = message(context);
-        ModelReference modelRef = null;
-        if (!isVoid(returnType)) {
+        Status status = statuses.computeIfAbsent(handler.getHandlerMethod(),
+                handlerMethod -> Status.of(context.findAnnotation(ResponseStatus.class)));
+        ModelReference modelRef = isVoid(returnType) ? null : getModelReference(context, returnType);
+        ResponseMessage built = new ResponseMessageBuilder()
+                .code(status.code)
+                .message(status.message)
+                .responseModel(modelRef)
+                .build();
+        context.operationBuilder().responseMessages(ImmutableSet.of(built));
+    }
+
+    /**
+     * Get model reference of return type, built once per documentation group and return type.
+     *
+     * @param context    Operation Context
+     * @param returnType return type
+     * @return model reference
+     */
+    private ModelReference getModelReference(OperationContext context, ResolvedType returnType) {
+        return modelReferences.computeIfAbsent(new GroupKey(context.getGroupName(), returnType), key -> {
             ModelContext modelContext = ModelContext.returnValue(
                     context.getGroupName(),
                     returnType,
@@ -75,14 +114,8 @@ public class GenericResponseOperationBuilder extends GenericSwaggerPlugin implem
                     context.getAlternateTypeProvider(),
                     context.getGenericsNamingStrategy(),
                     context.getIgnorableParameterTypes());
-            modelRef = modelRefFactory(modelContext, nameExtractor).apply(returnType);
-        }
-        ResponseMessage built = new ResponseMessageBuilder()
-                .code(httpStatusCode)
-                .message(message)
-                .responseModel(modelRef)
-                .build();
-        context.operationBuilder().responseMessages(newHashSet(built));
+            return modelRefFactory(modelContext, nameExtractor).apply(returnType);
+        });
     }
 
     /**
@@ -92,12 +125,7 @@ public class GenericResponseOperationBuilder extends GenericSwaggerPlugin implem
      * @return http status code
      */
     public static int httpStatusCode(OperationContext context) {
-        Optional<ResponseStatus> responseStatus = context.findAnnotation(ResponseStatus.class);
-        int httpStatusCode = HttpStatus.OK.value();
-        if (responseStatus.isPresent()) {
-            httpStatusCode = responseStatus.get().value().value();
-        }
-        return httpStatusCode;
+        return Status.of(context.findAnnotation(ResponseStatus.class)).code;
     }
 
     /**
@@ -107,19 +135,45 @@ public class GenericResponseOperationBuilder extends GenericSwaggerPlugin implem
      * @return message
      */
     public static String message(OperationContext context) {
-        Optional<ResponseStatus> responseStatus = context.findAnnotation(ResponseStatus.class);
-        String reasonPhrase = HttpStatus.OK.getReasonPhrase();
-        if (responseStatus.isPresent()) {
-            reasonPhrase = responseStatus.get().reason();
-            if (reasonPhrase.isEmpty()) {
-                reasonPhrase = responseStatus.get().value().getReasonPhrase();
-            }
-        }
-        return reasonPhrase;
+        return Status.of(context.findAnnotation(ResponseStatus.class)).message;
     }
 
     @Override
     public boolean supports(DocumentationType documentationType) {
         return true;
     }
+
+    @Override
+    public void clearCaches() {
+        globalResponseMessages.clear();
+        modelReferences.clear();
+        statuses.clear();
+    }
+
+    /**
+     * Http status code and message of handler method.
+     */
+    private static final class Status {
+
+        private static final Status OK = new Status(HttpStatus.OK.value(), HttpStatus.OK.getReasonPhrase());
+
+        private final int code;
+        private final String message;
+
+        private Status(int code, String message) {
+            this.code = code;
+            this.message = message;
+        }
+
+        static Status of(Optional<ResponseStatus> responseStatus) {
+            if (!responseStatus.isPresent()) {
+                return OK;
+            }
+            String reasonPhrase = responseStatus.get().reason();
+            if (reasonPhrase.isEmpty()) {
+                reasonPhrase = responseStatus.get().value().getReasonPhrase();
+            }
+            return new Status(responseStatus.get().value().value(), reasonPhrase);
+        }
+    }
 }
@@ -0,0 +1,33 @@
+package bap.jp.smartfashion.support.swagger.plugin;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Clear caches of Generic Controller plugins once documentation is built.
+ *
+ * @author hungp
+ */
+@Slf4j
+@Component
+public class GenericSwaggerCacheCleaner {
+
+    private final List<GenericSwaggerPlugin> plugins;
+
+    public GenericSwaggerCacheCleaner(List<GenericSwaggerPlugin> plugins) {
+        this.plugins = plugins;
+    }
+
+    /**
+     * Clear caches of all generic swagger plugins.
+     */
+    public void clear() {
+        log.debug("Clearing caches of generic swagger plugins");
+        GenericSwaggerPlugin.registerDescriptors(Collections.emptyMap());
+        GenericSwaggerPlugin.clearSharedCaches();
+        plugins.forEach(GenericSwaggerPlugin::clearCaches);
+    }
+}
@@ -0,0 +1,211 @@
+package bap.jp.smartfashion.support.swagger.plugin;
+
+import bap.jp.smartfashion.support.swagger.GenericOperationDescriptor;
+import com.google.common.collect.ImmutableList;
+import org.springframework.web.method.HandlerMethod;
+import springfox.documentation.RequestHandler;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Timings and counters of Generic Controller plugins, and hit and miss counters of their caches.
+ *
+ * @author hungp
+ */
+public class GenericSwaggerMetrics {
+
+    public static final String QUERY_PARAMETERS = "query-parameters";
+    public static final String IGNORABLE_PARAMETER_TYPES = "ignorable-parameter-types";
+    public static final String EXPANSIONS = "expansions";
+    public static final String BOUNDED_EXPANSIONS = "bounded-expansions";
+    public static final String COMMON_PARAMETERS = "common-parameters";
+    public static final String RESPONSE_MESSAGES = "response-messages";
+
+    /**
+     * Names of plugin caches with hit and miss counters.
+     */
+    public static final List<String> CACHES = ImmutableList.of(QUERY_PARAMETERS, IGNORABLE_PARAMETER_TYPES, EXPANSIONS,
+            BOUNDED_EXPANSIONS, COMMON_PARAMETERS, RESPONSE_MESSAGES);
+
+    private static final ConcurrentMap<Class<?>, PluginStats> PLUGINS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<HandlerMethod, LongAdder> HANDLER_NANOS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, LongAdder> ENTITY_NANOS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, CacheStats> CACHE_STATS = new ConcurrentHashMap<>();
+
+    private GenericSwaggerMetrics() {
+    }
+
+    /**
+     * Record an apply of plugin.
+     *
+     * @param pluginClass plugin class
+     * @param handler     Request Handler, may be null
+     * @param descriptor  Generic operation descriptor
+     * @param nanos       time spent in nanoseconds
+     */
+    public static void record(Class<?> pluginClass, RequestHandler handler, GenericOperationDescriptor descriptor, long nanos) {
+        PluginStats stats = plugin(pluginClass);
+        stats.applies.increment();
+        stats.nanos.add(nanos);
+        if (descriptor.isGeneric()) {
+            stats.generic.increment();
+            HANDLER_NANOS.computeIfAbsent(handler.getHandlerMethod(), h -> new LongAdder()).add(nanos);
+            ENTITY_NANOS.computeIfAbsent(descriptor.getEntityClass(), e -> new LongAdder()).add(nanos);
+        }
+    }
+
+    /**
+     * Get stats of plugin.
+     *
+     * @param pluginClass plugin class
+     * @return plugin stats
+     */
+    public static PluginStats plugin(Class<?> pluginClass) {
+        return PLUGINS.computeIfAbsent(pluginClass, c -> new PluginStats());
+    }
+
+    /**
+     * Get stats of all plugins.
+     *
+     * @return map of plugin name and stats
+     */
+    public static Map<String, PluginStats> plugins() {
+        return PLUGINS.entrySet().stream()
+                .sorted(Comparator.comparing(entry -> entry.getKey().getSimpleName()))
+                .collect(Collectors.toMap(entry -> entry.getKey().getSimpleName(), Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    /**
+     * Get value from plugin cache, counting hit or miss.
+     *
+     * @param name  name of cache
+     * @param cache cache of plugin
+     * @param key   cache key
+     * @param load  function loading value on miss
+     * @return cached or loaded value
+     */
+    public static <K, V> V cached(String name, ConcurrentMap<K, V> cache, K key, Function<? super K, ? extends V> load) {
+        CacheStats stats = cache(name);
+        V value = cache.get(key);
+        if (null != value) {
+            stats.hits.increment();
+            return value;
+        }
+        return cache.computeIfAbsent(key, k -> {
+            stats.misses.increment();
+            return load.apply(k);
+        });
+    }
+
+    /**
+     * Get hit and miss counters of plugin cache.
+     *
+     * @param name name of cache
+     * @return cache stats
+     */
+    public static CacheStats cache(String name) {
+        return CACHE_STATS.computeIfAbsent(name, n -> new CacheStats());
+    }
+
+    /**
+     * Get hit and miss counters of all plugin caches.
+     *
+     * @return map of cache name and stats
+     */
+    public static Map<String, CacheStats> caches() {
+        Map<String, CacheStats> caches = new LinkedHashMap<>();
+        for (String name : CACHES) {
+            caches.put(name, cache(name));
+        }
+        return caches;
+    }
+
+    /**
+     * Get slowest handlers.
+     *
+     * @param limit max number of handlers
+     * @return map of handler and time spent in milliseconds, slowest first
+     */
+    public static Map<String, Double> slowestHandlers(int limit) {
+        return slowest(HANDLER_NANOS, HandlerMethod::toString, limit);
+    }
+
+    /**
+     * Get time spent per entity.
+     *
+     * @return map of entity class and time spent in milliseconds, slowest first
+     */
+    public static Map<String, Double> entities() {
+        return slowest(ENTITY_NANOS, Class::getName, Integer.MAX_VALUE);
+    }
+
+    private static <K> Map<String, Double> slowest(Map<K, LongAdder> nanos, Function<K, String> name, int limit) {
+        return nanos.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<K, LongAdder> entry) -> entry.getValue().sum()).reversed())
+                .limit(limit)
+                .collect(Collectors.toMap(entry -> name.apply(entry.getKey()), entry -> entry.getValue().sum() / 1e6,
+                        (a, b) -> a, LinkedHashMap::new));
+    }
+
+    /**
+     * Counters of a plugin.
+     */
+    public static final class PluginStats {
+
+        private final LongAdder applies = new LongAdder();
+        private final LongAdder generic = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        /**
+         * Number of apply calls.
+         */
+        public long getApplies() {
+            return applies.sum();
+        }
+
+        /**
+         * Number of apply calls for handlers of Generic Controller.
+         */
+        public long getGeneric() {
+            return generic.sum();
+        }
+
+        /**
+         * Time spent in apply in nanoseconds.
+         */
+        public long getNanos() {
+            return nanos.sum();
+        }
+    }
+
+    /**
+     * Hit and miss counters of a plugin cache, they keep counting when caches are cleared.
+     */
+    public static final class CacheStats {
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        /**
+         * Number of requests served from cache.
+         */
+        public long getHits() {
+            return hits.sum();
+        }
+
+        /**
+         * Number of requests which loaded a new value.
+         */
+        public long getMisses() {
+            return misses.sum();
+        }
+    }
+}
@@ -1,18 +1,11 @@
 package bap.jp.smartfashion.support.swagger.plugin;
 
 import bap.jp.smartfashion.common.base.BaseModel;
-import bap.jp.smartfashion.common.vo.PageInfo;
-import bap.jp.smartfashion.support.httpdefault.annotation.dto.CreateRequestClassDTO;
-import bap.jp.smartfashion.support.httpdefault.annotation.dto.CreateResponseClassDTO;
-import bap.jp.smartfashion.support.httpdefault.annotation.dto.ReadResponseClassDTO;
-import bap.jp.smartfashion.support.httpdefault.annotation.dto.UpdateRequestClassDTO;
-import bap.jp.smartfashion.support.httpdefault.annotation.dto.UpdateResponseClassDTO;
-import bap.jp.smartfashion.support.swagger.*;
-import bap.jp.smartfashion.util.ObjectUtils;
+import bap.jp.smartfashion.support.swagger.GenericOperationDescriptor;
+import bap.jp.smartfashion.support.swagger.ResolvedTypeCache;
 import com.fasterxml.classmate.ResolvedType;
 import com.fasterxml.classmate.TypeResolver;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
 import springfox.documentation.RequestHandler;
 import springfox.documentation.spi.service.contexts.OperationContext;
 import springfox.documentation.spi.service.contexts.ParameterContext;
@@ -20,15 +13,34 @@ import springfox.documentation.spi.service.contexts.RequestMappingContext;
 
 import java.lang.annotation.Annotation;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Swagger Plugin.
+ * <p>
+ * Plugins don't hold mutable state other than concurrent caches of immutable values, so they are safe to be
+ * invoked for several handlers in parallel.
+ * <p>
+ * Work which doesn't depend on documentation group is cached without the group and reused by all dockets:
+ * descriptors, DTO types and query parameter skeletons in shared caches, field classification in {@code FieldIndex}
+ * and bounded expansions by type in {@link GenericParameterOperationBuilder}. Parameters, model references and
+ * response messages go through springfox plugins, alternate types or model naming of the docket, so they are cached
+ * per documentation group, keyed by {@link GroupKey} or a key holding the group name.
  *
  * @author hungp
  */
-@Slf4j
 public class GenericSwaggerPlugin {
 
+    private static final ContextFieldAccessor OPERATION_CONTEXT = ContextFieldAccessor.of(ParameterContext.class, "operationContext");
+    private static final ContextFieldAccessor REQUEST_CONTEXT = ContextFieldAccessor.of(OperationContext.class, "requestContext");
+    private static final ContextFieldAccessor HANDLER = ContextFieldAccessor.of(RequestMappingContext.class, "handler");
+
+    private static final ConcurrentMap<HandlerMethod, GenericOperationDescriptor> DESCRIPTORS = new ConcurrentHashMap<>();
+    private static volatile Map<HandlerMethod, GenericOperationDescriptor> registeredDescriptors = Collections.emptyMap();
+
     protected final TypeResolver resolver;
 
     public GenericSwaggerPlugin(TypeResolver resolver) {
@@ -42,24 +54,31 @@ public class GenericSwaggerPlugin {
      * @return request handler
      */
     protected RequestHandler getRequestHandler(Object context) {
-        try {
-            if (null != context) {
-                if (ParameterContext.class.isAssignableFrom(context.getClass())) {
-                    context = ObjectUtils.getValueOfField(context, "operationContext", OperationContext.class);
-                    return getRequestHandler(context);
-                } else if (OperationContext.class.isAssignableFrom(context.getClass())) {
-                    context = ObjectUtils.getValueOfField(context, "requestContext", RequestMappingContext.class);
-                    return getRequestHandler(context);
-                } else if (RequestMappingContext.class.isAssignableFrom(context.getClass())) {
-                    return ObjectUtils.getValueOfField(context, "handler", RequestHandler.class);
-                }
-            }
-        } catch (IllegalAccessException e) {
-            log.error(e.getMessage(), e);
+        if (context instanceof ParameterContext) {
+            return getRequestHandler(OPERATION_CONTEXT.get(context, OperationContext.class));
+        } else if (context instanceof OperationContext) {
+            return getRequestHandler(REQUEST_CONTEXT.get(context, RequestMappingContext.class));
+        } else if (context instanceof RequestMappingContext) {
+            return HANDLER.get(context, RequestHandler.class);
         }
         return null;
     }
 
+    /**
+     * Get descriptor of Generic Controller operation.
+     *
+     * @param handler Request Handler
+     * @return descriptor, NONE if request handler doesn't belong to a Generic Controller
+     */
+    protected GenericOperationDescriptor getDescriptor(RequestHandler handler) {
+        if (null == handler) {
+            return GenericOperationDescriptor.NONE;
+        }
+        HandlerMethod handlerMethod = handler.getHandlerMethod();
+        GenericOperationDescriptor descriptor = registeredDescriptors.get(handlerMethod);
+        return null != descriptor ? descriptor : DESCRIPTORS.computeIfAbsent(handlerMethod, GenericOperationDescriptor::of);
+    }
+
     /**
      * Get Entity Class.
      *
@@ -67,11 +86,7 @@ public class GenericSwaggerPlugin {
      * @return Entity class
      */
     protected Class<? extends BaseModel> getEntityClass(RequestHandler handler) {
-        SwaggerEntity swaggerEntity = handler.findControllerAnnotation(SwaggerEntity.class).orNull();
-        if (null != swaggerEntity) {
-            return swaggerEntity.value();
-        }
-        return null;
+        return getDescriptor(handler).getEntityClass();
     }
 
     /**
@@ -81,7 +96,7 @@ public class GenericSwaggerPlugin {
      * @return true if request handler have SwaggerEntity annotation, otherwise return false
      */
     protected boolean haveConfigurationEntityClass(RequestHandler handler) {
-        return null != handler && handler.findControllerAnnotation(SwaggerEntity.class).isPresent();
+        return getDescriptor(handler).isGeneric();
     }
 
     /**
@@ -96,66 +111,73 @@ public class GenericSwaggerPlugin {
         return Arrays.stream(annotations).anyMatch(annotation -> handler.findAnnotation(annotation).isPresent());
     }
 
+    /**
+     * Resolve type.
+     *
+     * @param type          raw class
+     * @param typeArguments type arguments
+     * @return Resolved Type
+     */
+    protected ResolvedType resolve(Class<?> type, Class<?>... typeArguments) {
+        return ResolvedTypeCache.resolve(resolver, type, typeArguments);
+    }
+
     /**
      * Build Request Resolve Type.
      *
-     * @param context Request Context
+     * @param descriptor Generic operation descriptor
      * @return Request Resolved Type
      */
-    protected ResolvedType buildResolveTypeForRequestObject(Object context) {
-        RequestHandler handler = getRequestHandler(context);
-        Class<? extends BaseModel> entityClass = getEntityClass(handler);
-
-        Class<?> dtoClass = null;
-        if (null != entityClass) {
-            SwaggerGenericCreateMethod genericCreateMethod = handler.findAnnotation(SwaggerGenericCreateMethod.class).orNull();
-            SwaggerGenericUpdateMethod genericUpdateMethod = handler.findAnnotation(SwaggerGenericUpdateMethod.class).orNull();
-            if (null != genericCreateMethod) {
-                CreateRequestClassDTO requestClassDTO = AnnotatedElementUtils.findMergedAnnotation(entityClass, CreateRequestClassDTO.class);
-                dtoClass = null != requestClassDTO ? requestClassDTO.value() : null;
-            } else if (null != genericUpdateMethod) {
-                UpdateRequestClassDTO requestClassDTO = AnnotatedElementUtils.findMergedAnnotation(entityClass, UpdateRequestClassDTO.class);
-                dtoClass = null != requestClassDTO ? requestClassDTO.value() : null;
-            }
-        }
-
-        return null != dtoClass ? resolver.resolve(dtoClass) : null;
+    protected ResolvedType buildResolveTypeForRequestObject(GenericOperationDescriptor descriptor) {
+        Class<?> dtoClass = descriptor.getRequestDtoClass();
+        return null != dtoClass ? resolve(dtoClass) : null;
     }
 
     /**
      * Build Response Resolve Type.
      *
-     * @param context Request Context
+     * @param descriptor Generic operation descriptor
      * @return Response Resolve Type
      */
-    protected ResolvedType buildResolveTypeForResponseObject(Object context) {
-        RequestHandler handler = getRequestHandler(context);
-        Class<? extends BaseModel> entityClass = getEntityClass(handler);
-
-        Class<?> dtoClass = null;
-        Class<?> wrapper = null;
-
-        if (null != entityClass) {
-            SwaggerGenericCreateMethod genericCreateMethod = handler.findAnnotation(SwaggerGenericCreateMethod.class).orNull();
-            SwaggerGenericUpdateMethod genericUpdateMethod = handler.findAnnotation(SwaggerGenericUpdateMethod.class).orNull();
-            SwaggerGenericReadMethod genericReadMethod = handler.findAnnotation(SwaggerGenericReadMethod.class).orNull();
-            SwaggerGenericReadAllMethod genericReadAllMethod = handler.findAnnotation(SwaggerGenericReadAllMethod.class).orNull();
-            if (null != genericCreateMethod) {
-                CreateResponseClassDTO responseClassDTO = AnnotatedElementUtils.findMergedAnnotation(entityClass, CreateResponseClassDTO.class);
-                dtoClass = null != responseClassDTO ? responseClassDTO.value() : null;
-            } else if (null != genericUpdateMethod) {
-                UpdateResponseClassDTO responseClassDTO = AnnotatedElementUtils.findMergedAnnotation(entityClass, UpdateResponseClassDTO.class);
-                dtoClass = null != responseClassDTO ? responseClassDTO.value() : null;
-            } else if (null != genericReadMethod) {
-                ReadResponseClassDTO responseClassDTO = AnnotatedElementUtils.findMergedAnnotation(entityClass, ReadResponseClassDTO.class);
-                dtoClass = null != responseClassDTO ? responseClassDTO.value() : null;
-            } else if (null != genericReadAllMethod) {
-                ReadResponseClassDTO responseClassDTO = AnnotatedElementUtils.findMergedAnnotation(entityClass, ReadResponseClassDTO.class);
-                dtoClass = null != responseClassDTO ? responseClassDTO.value() : null;
-                wrapper = PageInfo.class;
-            }
-        }
+    protected ResolvedType buildResolveTypeForResponseObject(GenericOperationDescriptor descriptor) {
+        Class<?> dtoClass = descriptor.getResponseDtoClass();
+        Class<?> wrapper = descriptor.getResponseWrapperClass();
+
+        return null != dtoClass ? (null == wrapper ? resolve(dtoClass) : resolve(wrapper, dtoClass)) : null;
+    }
+
+    /**
+     * Record time spent in apply of this plugin.
+     *
+     * @param startNanos start time in nanoseconds
+     * @param handler    Request Handler
+     * @param descriptor Generic operation descriptor
+     */
+    protected final void record(long startNanos, RequestHandler handler, GenericOperationDescriptor descriptor) {
+        GenericSwaggerMetrics.record(getClass(), handler, descriptor, System.nanoTime() - startNanos);
+    }
 
-        return null != dtoClass ? (null == wrapper ? resolver.resolve(dtoClass) : resolver.resolve(wrapper, dtoClass)) : null;
+    /**
+     * Register descriptors indexed ahead of documentation build.
+     *
+     * @param descriptors immutable map of handler method and descriptor
+     */
+    public static void registerDescriptors(Map<HandlerMethod, GenericOperationDescriptor> descriptors) {
+        registeredDescriptors = descriptors;
+    }
+
+    /**
+     * Clear caches shared by all Generic Controller plugins.
+     */
+    public static void clearSharedCaches() {
+        DESCRIPTORS.clear();
+        ResolvedTypeCache.clear();
+        QueryParameterSkeletons.clear();
+    }
+
+    /**
+     * Clear caches owned by this plugin.
+     */
+    public void clearCaches() {
     }
 }
@@ -0,0 +1,39 @@
+package bap.jp.smartfashion.support.swagger.plugin;
+
+import java.util.Objects;
+
+/**
+ * Cache key of value which depends on documentation group.
+ * <p>
+ * Only values which depend on springfox plugins, model naming or alternate types of a docket are cached per
+ * documentation group, group independent values are cached without the group (see {@link GenericSwaggerPlugin}).
+ *
+ * @author hungp
+ */
+final class GroupKey {
+
+    private final String groupName;
+    private final Object value;
+
+    GroupKey(String groupName, Object value) {
+        this.groupName = groupName;
+        this.value = value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GroupKey)) {
+            return false;
+        }
+        GroupKey key = (GroupKey) o;
+        return Objects.equals(groupName, key.groupName) && value.equals(key.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(groupName, value);
+    }
+}
@@ -0,0 +1,71 @@
+package bap.jp.smartfashion.support.swagger.plugin;
+
+import java.lang.annotation.Annotation;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Ignorable parameter types of documentation context.
+ *
+ * @author hungp
+ */
+public final class IgnorableParameterTypes {
+
+    private final Set<Class<?>> types;
+    private final Class<?>[] annotationTypes;
+
+    private IgnorableParameterTypes(Set<Class<?>> types, Class<?>[] annotationTypes) {
+        this.types = types;
+        this.annotationTypes = annotationTypes;
+    }
+
+    /**
+     * Split ignorable parameter types of documentation context.
+     *
+     * @param ignorableParamTypes ignorable parameter types
+     * @return ignorable parameter types
+     */
+    public static IgnorableParameterTypes of(Set<Class> ignorableParamTypes) {
+        Set<Class<?>> types = new HashSet<>();
+        Set<Class<?>> annotationTypes = new HashSet<>();
+        for (Class<?> type : ignorableParamTypes) {
+            types.add(type);
+            if (Annotation.class.isAssignableFrom(type)) {
+                annotationTypes.add(type);
+            }
+        }
+        return new IgnorableParameterTypes(types, annotationTypes.toArray(new Class<?>[0]));
+    }
+
+    /**
+     * Check type is ignorable.
+     *
+     * @param type parameter type
+     * @return true if type is ignorable
+     */
+    public boolean isIgnoredType(Class<?> type) {
+        return types.contains(type);
+    }
+
+    /**
+     * Check any of annotations is ignorable.
+     *
+     * @param annotations annotations of parameter
+     * @return true if any annotation is ignorable
+     */
+    public boolean hasIgnoredAnnotation(List<Annotation> annotations) {
+        for (int i = 0; i < annotations.size(); i++) {
+            Annotation annotation = annotations.get(i);
+            if (null != annotation) {
+                Class<? extends Annotation> annotationType = annotation.annotationType();
+                for (Class<?> ignored : annotationTypes) {
+                    if (ignored == annotationType) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
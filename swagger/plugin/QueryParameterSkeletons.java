@@ -0,0 +1,180 @@
+package bap.jp.smartfashion.support.swagger.plugin;
+
+import bap.jp.smartfashion.common.base.BaseModel;
+import bap.jp.smartfashion.support.httpdefault.DefaultHttpService;
+import bap.jp.smartfashion.support.httpdefault.annotation.dto.ReadResponseClassDTO;
+import bap.jp.smartfashion.support.swagger.EntityDtoMapping;
+import bap.jp.smartfashion.support.swagger.FieldIndex;
+import bap.jp.smartfashion.support.swagger.GenericOperationDescriptor;
+import bap.jp.smartfashion.support.swagger.GenericOperationKind;
+import bap.jp.smartfashion.support.swagger.PaginationMode;
+import bap.jp.smartfashion.support.swagger.ResolvedTypeCache;
+import bap.jp.smartfashion.util.ObjectUtils;
+import com.fasterxml.classmate.ResolvedType;
+import com.fasterxml.classmate.TypeResolver;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import springfox.documentation.service.ResolvedMethodParameter;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Query parameters generated from entity and DTO for Get methods of Generic Controller.
+ * <p>
+ * Skeletons don't depend on documentation group, they are built once per descriptor and are immutable,
+ * so they can be built in parallel and shared by all handlers and dockets. Page, cursor, limit, orderBy and
+ * filter are common to all entities (see {@link #isCommon}), so their documentation can be shared too.
+ *
+ * @author hungp
+ */
+public class QueryParameterSkeletons {
+
+    /**
+     * Name of cursor param of keyset pagination.
+     */
+    public static final String CURSOR = "cursor";
+
+    private static final ConcurrentMap<GenericOperationDescriptor, List<ResolvedMethodParameter>> SKELETONS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<GenericOperationDescriptor, List<String>> SORT_KEYS = new ConcurrentHashMap<>();
+    private static final Set<String> COMMON_PARAMETERS = ImmutableSet.of(
+            DefaultHttpService.PAGE, CURSOR, DefaultHttpService.LIMIT, DefaultHttpService.ORDER_BY, DefaultHttpService.FILTER);
+    private static final List<Annotation> NO_ANNOTATIONS = ImmutableList.of();
+
+    private QueryParameterSkeletons() {
+    }
+
+    /**
+     * Get query parameters of Generic Controller operation.
+     *
+     * @param resolver   Type Resolver
+     * @param descriptor Generic operation descriptor
+     * @return immutable list Resolved Method parameter
+     */
+    public static List<ResolvedMethodParameter> get(TypeResolver resolver, GenericOperationDescriptor descriptor) {
+        return SKELETONS.computeIfAbsent(descriptor, d -> build(resolver, d));
+    }
+
+    /**
+     * Get properties of DTO which keyset pagination can sort by: sort keys of read all method, otherwise
+     * properties mapped from primary key of entity.
+     *
+     * @param descriptor Generic operation descriptor
+     * @return immutable list of sort keys, declared ones are checked when descriptor is built
+     */
+    public static List<String> getSortKeys(GenericOperationDescriptor descriptor) {
+        return SORT_KEYS.computeIfAbsent(descriptor, d -> {
+            if (!d.getSortKeys().isEmpty()) {
+                return d.getSortKeys();
+            }
+            FieldIndex entityFields = FieldIndex.of(d.getEntityClass());
+            FieldIndex fields = FieldIndex.of(d.getResponseDtoClass());
+            ImmutableList.Builder<String> sortKeys = ImmutableList.builder();
+            for (int i = 0; i < fields.size(); i++) {
+                String name = fields.fieldAt(i).getName();
+                if (entityFields.isPKField(entityFields.slotOf(name))) {
+                    sortKeys.add(name);
+                }
+            }
+            return sortKeys.build();
+        });
+    }
+
+    /**
+     * Check parameter is one of page, cursor, limit, orderBy or filter generated for every entity.
+     * OrderBy of keyset pagination is restricted to sort keys of entity, so it isn't common.
+     *
+     * @param descriptor Generic operation descriptor
+     * @param parameter  Resolved Method Parameter of skeleton
+     * @return true if parameter is common to all entities
+     */
+    public static boolean isCommon(GenericOperationDescriptor descriptor, ResolvedMethodParameter parameter) {
+        String name = parameter.defaultName().orNull();
+        if (PaginationMode.KEYSET == descriptor.getPagination() && DefaultHttpService.ORDER_BY.equals(name)) {
+            return false;
+        }
+        return COMMON_PARAMETERS.contains(name)
+                && parameter.getAnnotations().size() == 1
+                && parameter.hasParameterAnnotation(ReadResponseClassDTO.class);
+    }
+
+    /**
+     * Clear cache.
+     */
+    public static void clear() {
+        SKELETONS.clear();
+        SORT_KEYS.clear();
+    }
+
+    /**
+     * Build Resolved Method Parameter.
+     *
+     * @param resolver   Type Resolver
+     * @param descriptor Generic operation descriptor
+     * @return List Resolved Method parameter
+     */
+    private static List<ResolvedMethodParameter> build(TypeResolver resolver, GenericOperationDescriptor descriptor) {
+        int index = 0;
+        List<ResolvedMethodParameter> resolvedMethodParameters = new ArrayList<>();
+
+        Class<? extends BaseModel> entityClass = descriptor.getEntityClass();
+        ReadResponseClassDTO responseClassDTO = EntityDtoMapping.of(entityClass).getReadResponseClassDTO();
+
+        if (GenericOperationKind.READ_ALL == descriptor.getKind() && null != responseClassDTO) {
+            FieldIndex entityFields = FieldIndex.of(entityClass);
+            if (PaginationMode.KEYSET == descriptor.getPagination()) {
+                // Add param cursor
+                ResolvedMethodParameter cursor = new ResolvedMethodParameter(index++, CURSOR,
+                        NO_ANNOTATIONS, ResolvedTypeCache.resolve(resolver, String.class));
+                resolvedMethodParameters.add(cursor.annotate(responseClassDTO));
+            } else {
+                // Add param page
+                ResolvedMethodParameter page = new ResolvedMethodParameter(index++, DefaultHttpService.PAGE,
+                        NO_ANNOTATIONS, ResolvedTypeCache.resolve(resolver, int.class));
+                resolvedMethodParameters.add(page.annotate(responseClassDTO));
+            }
+            // Add param limit
+            ResolvedMethodParameter limit = new ResolvedMethodParameter(index++, DefaultHttpService.LIMIT,
+                    NO_ANNOTATIONS, ResolvedTypeCache.resolve(resolver, int.class));
+            resolvedMethodParameters.add(limit.annotate(responseClassDTO));
+
+            FieldIndex fields = FieldIndex.of(responseClassDTO.value());
+            for (int i = 0; i < fields.size(); i++) {
+                Field field = fields.fieldAt(i);
+                // Find entity Field
+                int entityField = entityFields.slotOf(field.getName());
+
+                // Build Resolve Type
+                ResolvedType queryParamType;
+                if (entityFields.isPKField(entityField) || entityFields.isFKField(entityField)) {
+                    queryParamType = ResolvedTypeCache.resolve(resolver, List.class, field.getType());
+                } else if (fields.isNumber(i)) {
+                    queryParamType = ResolvedTypeCache.resolve(resolver, String.class);
+                } else {
+                    queryParamType = ResolvedTypeCache.resolve(resolver, field.getType());
+                }
+
+                ResolvedMethodParameter resolvedMethodParameter = new ResolvedMethodParameter(index++, field.getName(),
+                        ObjectUtils.getAnnotationOfField(field), queryParamType);
+
+                resolvedMethodParameters.add(resolvedMethodParameter.annotate(responseClassDTO));
+            }
+
+            // Add param orderBy
+            ResolvedMethodParameter orderBy = new ResolvedMethodParameter(index++, DefaultHttpService.ORDER_BY,
+                    NO_ANNOTATIONS, ResolvedTypeCache.resolve(resolver, String.class));
+            resolvedMethodParameters.add(orderBy.annotate(responseClassDTO));
+        }
+        // Add param filter
+        ResolvedMethodParameter filter = new ResolvedMethodParameter(index, DefaultHttpService.FILTER,
+                NO_ANNOTATIONS, ResolvedTypeCache.resolve(resolver, String[].class));
+        resolvedMethodParameters.add(filter.annotate(responseClassDTO));
+
+        return ImmutableList.copyOf(resolvedMethodParameters);
+    }
+}
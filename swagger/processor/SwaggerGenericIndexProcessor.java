@@ -0,0 +1,395 @@
+package bap.jp.smartfashion.support.swagger.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Annotation processor which indexes Generic Controller operations at compile time.
+ * <p>
+ * For each method of controllers annotated with {@code @SwaggerEntity}, directly or through a superclass, write the
+ * entity, the kind of operation and the request/response DTO classes into {@value #INDEX}. The format is
+ * {@code controller#method(parameterTypes)=KIND|entity|requestDto|responseDto|pagination|sortKeys}, where an empty
+ * DTO means none and {@code ?} means the DTO is declared through a meta-annotation and must be resolved at runtime.
+ * Pagination and comma separated sort keys are only written for read all methods.
+ * <p>
+ * Every compiled type is checked, since a controller may inherit the annotation from a base controller compiled
+ * earlier. On incremental compilation the existing index is merged: entries of types compiled again are replaced,
+ * the others are kept.
+ * <p>
+ * The processor is registered with {@code -processor} or the {@code annotationProcessorPaths} of the build.
+ *
+ * @author hungp
+ */
+@SupportedAnnotationTypes("*")
+public class SwaggerGenericIndexProcessor extends AbstractProcessor {
+
+    /**
+     * Location of generated index.
+     */
+    public static final String INDEX = "META-INF/swagger-generic-index.properties";
+
+    static final String SWAGGER_ENTITY = "bap.jp.smartfashion.support.swagger.SwaggerEntity";
+
+    private static final String SWAGGER_PACKAGE = "bap.jp.smartfashion.support.swagger.";
+    private static final String DTO_PACKAGE = "bap.jp.smartfashion.support.httpdefault.annotation.dto.";
+    private static final String UNKNOWN = "?";
+
+    private static final Map<String, String> KINDS = new LinkedHashMap<>();
+
+    static {
+        KINDS.put(SWAGGER_PACKAGE + "SwaggerGenericCreateMethod", "CREATE");
+        KINDS.put(SWAGGER_PACKAGE + "SwaggerGenericUpdateMethod", "UPDATE");
+        KINDS.put(SWAGGER_PACKAGE + "SwaggerGenericReadMethod", "READ");
+        KINDS.put(SWAGGER_PACKAGE + "SwaggerGenericReadAllMethod", "READ_ALL");
+    }
+
+    private final Map<String, String> entries = new TreeMap<>();
+    private final Set<String> compiledTypes = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (null != processingEnv.getElementUtils().getTypeElement(SWAGGER_ENTITY)) {
+            for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+                visit(type);
+            }
+        }
+        if (roundEnv.processingOver() && !compiledTypes.isEmpty()) {
+            write();
+        }
+        return false;
+    }
+
+    /**
+     * Index type and its nested types if they are controllers.
+     *
+     * @param type compiled type
+     */
+    private void visit(TypeElement type) {
+        compiledTypes.add(binaryName(type));
+        if (type.getKind() == ElementKind.CLASS && !type.getModifiers().contains(Modifier.ABSTRACT)) {
+            index(type);
+        }
+        for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+            visit(nested);
+        }
+    }
+
+    /**
+     * Index generic methods of controller.
+     *
+     * @param controller controller type
+     */
+    private void index(TypeElement controller) {
+        TypeElement entity = classValue(findAnnotation(controller, SWAGGER_ENTITY));
+        if (null == entity) {
+            return;
+        }
+        String controllerName = binaryName(controller);
+        String entityName = binaryName(entity);
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(controller))) {
+            AnnotationMirror genericAnnotation = genericAnnotationOf(method, controller);
+            if (null != genericAnnotation) {
+                String kind = KINDS.get(qualifiedName(genericAnnotation));
+                String entry = kind + "|" + entityName + "|" + requestDto(entity, kind) + "|" + responseDto(entity, kind);
+                if ("READ_ALL".equals(kind)) {
+                    entry += "|" + pagination(genericAnnotation) + "|" + sortKeys(genericAnnotation);
+                }
+                entries.put(controllerName + "#" + signature(method), entry);
+            }
+        }
+    }
+
+    /**
+     * Find generic method annotation of method or of methods it overrides.
+     */
+    private AnnotationMirror genericAnnotationOf(ExecutableElement method, TypeElement controller) {
+        AnnotationMirror annotation = directGenericAnnotation(method);
+        if (null != annotation) {
+            return annotation;
+        }
+        for (TypeElement type : supertypes(controller)) {
+            for (ExecutableElement candidate : ElementFilter.methodsIn(type.getEnclosedElements())) {
+                if (processingEnv.getElementUtils().overrides(method, candidate, controller)) {
+                    annotation = directGenericAnnotation(candidate);
+                    if (null != annotation) {
+                        return annotation;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private AnnotationMirror directGenericAnnotation(ExecutableElement method) {
+        for (String annotationName : KINDS.keySet()) {
+            AnnotationMirror annotation = directAnnotation(method, annotationName);
+            if (null != annotation) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get pagination of read all method annotation.
+     */
+    private static String pagination(AnnotationMirror readAll) {
+        AnnotationValue value = attribute(readAll, "pagination");
+        return null != value ? ((VariableElement) value.getValue()).getSimpleName().toString() : "OFFSET";
+    }
+
+    /**
+     * Get comma separated sort keys of read all method annotation.
+     */
+    private static String sortKeys(AnnotationMirror readAll) {
+        AnnotationValue value = attribute(readAll, "sortKeys");
+        if (null == value) {
+            return "";
+        }
+        StringBuilder sortKeys = new StringBuilder();
+        for (Object sortKey : (List<?>) value.getValue()) {
+            if (sortKeys.length() > 0) {
+                sortKeys.append(',');
+            }
+            sortKeys.append(((AnnotationValue) sortKey).getValue());
+        }
+        return sortKeys.toString();
+    }
+
+    private static AnnotationValue attribute(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+            if (name.contentEquals(entry.getKey().getSimpleName())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private String requestDto(TypeElement entity, String kind) {
+        switch (kind) {
+            case "CREATE":
+                return dto(entity, "CreateRequestClassDTO");
+            case "UPDATE":
+                return dto(entity, "UpdateRequestClassDTO");
+            default:
+                return "";
+        }
+    }
+
+    private String responseDto(TypeElement entity, String kind) {
+        switch (kind) {
+            case "CREATE":
+                return dto(entity, "CreateResponseClassDTO");
+            case "UPDATE":
+                return dto(entity, "UpdateResponseClassDTO");
+            default:
+                return dto(entity, "ReadResponseClassDTO");
+        }
+    }
+
+    /**
+     * Find DTO class declared on entity, its interfaces or its superclasses, in the order of
+     * {@code AnnotatedElementUtils#findMergedAnnotation} used at runtime.
+     *
+     * @return binary name of DTO, empty if there is none, UNKNOWN if it is declared through a meta-annotation
+     */
+    private String dto(TypeElement entity, String annotation) {
+        String dto = dto(entity, DTO_PACKAGE + annotation, new HashSet<>());
+        return null != dto ? dto : "";
+    }
+
+    private String dto(TypeElement type, String annotationName, Set<TypeElement> visited) {
+        if (null == type || !visited.add(type)) {
+            return null;
+        }
+        AnnotationMirror mirror = directAnnotation(type, annotationName);
+        if (null != mirror) {
+            TypeElement dto = classValue(mirror);
+            return null != dto ? binaryName(dto) : UNKNOWN;
+        }
+        for (AnnotationMirror other : type.getAnnotationMirrors()) {
+            if (isMetaAnnotated(other.getAnnotationType().asElement(), annotationName, new HashSet<>())) {
+                return UNKNOWN;
+            }
+        }
+        for (TypeMirror anInterface : type.getInterfaces()) {
+            String dto = dto((TypeElement) ((DeclaredType) anInterface).asElement(), annotationName, visited);
+            if (null != dto) {
+                return dto;
+            }
+        }
+        return dto(superclass(type), annotationName, visited);
+    }
+
+    private boolean isMetaAnnotated(Element annotationType, String annotationName, Set<Element> visited) {
+        if (!visited.add(annotationType)) {
+            return false;
+        }
+        for (AnnotationMirror meta : annotationType.getAnnotationMirrors()) {
+            Element metaType = meta.getAnnotationType().asElement();
+            if (annotationName.equals(((TypeElement) metaType).getQualifiedName().toString())
+                    || isMetaAnnotated(metaType, annotationName, visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private AnnotationMirror findAnnotation(TypeElement type, String annotationName) {
+        for (TypeElement candidate = type; null != candidate; candidate = superclass(candidate)) {
+            AnnotationMirror mirror = directAnnotation(candidate, annotationName);
+            if (null != mirror) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private static AnnotationMirror directAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (annotationName.equals(qualifiedName(mirror))) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private static String qualifiedName(AnnotationMirror mirror) {
+        return ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+
+    /**
+     * Get class of {@code value} attribute of annotation.
+     */
+    private static TypeElement classValue(AnnotationMirror mirror) {
+        AnnotationValue value = null == mirror ? null : attribute(mirror, "value");
+        if (null != value && value.getValue() instanceof DeclaredType) {
+            return (TypeElement) ((DeclaredType) value.getValue()).asElement();
+        }
+        return null;
+    }
+
+    private List<TypeElement> supertypes(TypeElement type) {
+        List<TypeElement> supertypes = new ArrayList<>();
+        collectSupertypes(type.asType(), supertypes);
+        supertypes.remove(type);
+        return supertypes;
+    }
+
+    private void collectSupertypes(TypeMirror type, List<TypeElement> supertypes) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+        if (supertypes.contains(element)) {
+            return;
+        }
+        supertypes.add(element);
+        for (TypeMirror supertype : processingEnv.getTypeUtils().directSupertypes(type)) {
+            collectSupertypes(supertype, supertypes);
+        }
+    }
+
+    private static TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        return superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+    }
+
+    private String binaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    /**
+     * Build signature of method: name and canonical names of erased parameter types.
+     */
+    private String signature(ExecutableElement method) {
+        StringBuilder signature = new StringBuilder(method.getSimpleName()).append('(');
+        List<? extends VariableElement> parameters = method.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            if (i > 0) {
+                signature.append(',');
+            }
+            signature.append(processingEnv.getTypeUtils().erasure(parameters.get(i).asType()));
+        }
+        return signature.append(')').toString();
+    }
+
+    /**
+     * Write index resource, merged with entries of the existing index whose types weren't compiled again.
+     */
+    private void write() {
+        Map<String, String> index = readExisting();
+        boolean changed = index.keySet().removeIf(key -> compiledTypes.contains(key.substring(0, key.indexOf('#'))));
+        if (!changed && entries.isEmpty()) {
+            return;
+        }
+        index.putAll(entries);
+        try {
+            FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX);
+            try (Writer writer = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, String> entry : index.entrySet()) {
+                    writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Cannot write " + INDEX + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Read index written by a previous compilation, empty if there is none.
+     */
+    private Map<String, String> readExisting() {
+        Map<String, String> index = new TreeMap<>();
+        try {
+            FileObject resource = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while (null != (line = reader.readLine())) {
+                    int separator = line.indexOf('=');
+                    if (separator > 0 && line.lastIndexOf('#', separator) > 0) {
+                        index.put(line.substring(0, separator), line.substring(separator + 1));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // No index yet
+        }
+        return index;
+    }
+}